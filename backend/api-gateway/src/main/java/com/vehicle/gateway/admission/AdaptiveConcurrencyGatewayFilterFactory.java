@@ -0,0 +1,96 @@
+package com.vehicle.gateway.admission;
+
+import io.micrometer.core.instrument.Gauge;
+import lombok.Data;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.SignalType;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+// Sheds requests with 503 once a downstream's adaptive in-flight limit is reached instead of queueing them
+@Component
+public class AdaptiveConcurrencyGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<AdaptiveConcurrencyGatewayFilterFactory.Config> {
+    private final AdmissionMetrics metrics;
+    private final ConcurrentHashMap<String, VegasConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+
+    public AdaptiveConcurrencyGatewayFilterFactory(AdmissionMetrics metrics) {
+        super(Config.class);
+        this.metrics = metrics;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        String routeId = config.getRouteId();
+        // Kept across route refreshes so the learned limit is not reset
+        VegasConcurrencyLimiter limiter = limiters.computeIfAbsent(routeId, id -> register(id, config));
+        return (exchange, chain) -> {
+            if (isStreaming(exchange.getRequest())) {
+                // Long-lived streams would pin a slot and poison the latency samples
+                return chain.filter(exchange);
+            }
+            int inFlightAtStart = limiter.tryAcquire();
+            if (inFlightAtStart < 0) {
+                metrics.record(routeId, AdmissionMetrics.CONCURRENCY_LIMITER, false);
+                ServerHttpResponse response = exchange.getResponse();
+                response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+                response.getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+                return response.setComplete();
+            }
+            metrics.record(routeId, AdmissionMetrics.CONCURRENCY_LIMITER, true);
+            long start = System.nanoTime();
+            return chain.filter(exchange).doFinally(signal -> {
+                if (signal == SignalType.CANCEL) {
+                    limiter.release();
+                } else {
+                    boolean dropped = signal == SignalType.ON_ERROR || overloaded(exchange.getResponse().getStatusCode());
+                    limiter.onSample(System.nanoTime() - start, inFlightAtStart, dropped);
+                }
+            });
+        };
+    }
+
+    private VegasConcurrencyLimiter register(String routeId, Config config) {
+        VegasConcurrencyLimiter limiter = new VegasConcurrencyLimiter(
+                config.getInitialLimit(), config.getMinLimit(), config.getMaxLimit());
+        Gauge.builder("gateway.concurrency.limit", limiter, VegasConcurrencyLimiter::getLimit)
+                .description("Current adaptive in-flight limit for the downstream")
+                .tag("route", routeId)
+                .register(metrics.registry());
+        Gauge.builder("gateway.concurrency.in-flight", limiter, VegasConcurrencyLimiter::getInFlight)
+                .description("Requests currently in flight to the downstream")
+                .tag("route", routeId)
+                .register(metrics.registry());
+        return limiter;
+    }
+
+    private static boolean isStreaming(ServerHttpRequest request) {
+        return request.getHeaders().getAccept().stream()
+                .anyMatch(type -> MediaType.TEXT_EVENT_STREAM.includes(type)
+                        || MediaType.APPLICATION_NDJSON.includes(type));
+    }
+
+    private static boolean overloaded(HttpStatusCode status) {
+        return status != null && (status.value() == HttpStatus.TOO_MANY_REQUESTS.value()
+                || status.value() == HttpStatus.BAD_GATEWAY.value()
+                || status.value() == HttpStatus.SERVICE_UNAVAILABLE.value()
+                || status.value() == HttpStatus.GATEWAY_TIMEOUT.value());
+    }
+
+    @Data
+    public static class Config implements HasRouteId {
+        private String routeId;
+        private int initialLimit = 20;
+        private int minLimit = 2;
+        private int maxLimit = 200;
+    }
+}
@@ -0,0 +1,33 @@
+package com.vehicle.gateway.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@RequiredArgsConstructor
+public class AdmissionMetrics {
+    static final String RATE_LIMITER = "rate";
+    static final String CONCURRENCY_LIMITER = "concurrency";
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentHashMap<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public void record(String routeId, String limiter, boolean admitted) {
+        String outcome = admitted ? "admitted" : "rejected";
+        counters.computeIfAbsent(routeId + '|' + limiter + '|' + outcome, key -> Counter.builder("gateway.admission")
+                        .description("Admission decisions taken by the gateway limiters")
+                        .tag("route", routeId)
+                        .tag("limiter", limiter)
+                        .tag("outcome", outcome)
+                        .register(meterRegistry))
+                .increment();
+    }
+
+    public MeterRegistry registry() {
+        return meterRegistry;
+    }
+}
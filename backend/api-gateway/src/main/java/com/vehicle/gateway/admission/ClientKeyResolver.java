@@ -0,0 +1,113 @@
+package com.vehicle.gateway.admission;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.util.List;
+import java.util.regex.Pattern;
+
+// Identifies the client a request counts against: the authenticated principal when there is one, otherwise the
+// address the connection came from. Nothing the client sends can choose its own bucket; X-Forwarded-For is only
+// followed through hops listed in gateway.rate-limit.trusted-proxies.
+@Component
+public class ClientKeyResolver implements KeyResolver {
+    static final String FORWARDED_FOR_HEADER = "X-Forwarded-For";
+    private static final Pattern IP_LITERAL = Pattern.compile("[0-9.]+|[0-9a-fA-F:.]*:[0-9a-fA-F:.]*");
+
+    private final List<AddressRange> trustedProxies;
+
+    public ClientKeyResolver(@Value("${gateway.rate-limit.trusted-proxies:}") List<String> trustedProxies) {
+        this.trustedProxies = trustedProxies.stream()
+                .filter(StringUtils::hasText)
+                .map(AddressRange::parse)
+                .toList();
+    }
+
+    @Override
+    public Mono<String> resolve(ServerWebExchange exchange) {
+        return exchange.getPrincipal()
+                .map(principal -> "principal:" + principal.getName())
+                .switchIfEmpty(Mono.fromSupplier(() -> "ip:" + clientAddress(exchange.getRequest())));
+    }
+
+    String clientAddress(ServerHttpRequest request) {
+        InetSocketAddress remote = request.getRemoteAddress();
+        if (remote == null || remote.getAddress() == null) {
+            return "unknown";
+        }
+        // Each proxy appends the address it received the request from, so walk back from the right-most entry for
+        // as long as the hop that reported it is one of ours
+        InetAddress client = remote.getAddress();
+        List<String> hops = request.getHeaders().getValuesAsList(FORWARDED_FOR_HEADER);
+        for (int i = hops.size() - 1; i >= 0 && isTrusted(client); i--) {
+            InetAddress hop = parseLiteral(hops.get(i));
+            if (hop == null) {
+                break;
+            }
+            client = hop;
+        }
+        return client.getHostAddress();
+    }
+
+    private boolean isTrusted(InetAddress address) {
+        return trustedProxies.stream().anyMatch(range -> range.contains(address));
+    }
+
+    // Only IP literals, so a crafted header never triggers a DNS lookup
+    private static InetAddress parseLiteral(String value) {
+        String trimmed = value.trim();
+        if (!IP_LITERAL.matcher(trimmed).matches()) {
+            return null;
+        }
+        try {
+            return InetAddress.getByName(trimmed);
+        } catch (UnknownHostException e) {
+            return null;
+        }
+    }
+
+    // A single address or a CIDR block such as 10.0.0.0/8
+    record AddressRange(byte[] network, int prefixLength) {
+
+        static AddressRange parse(String value) {
+            String[] parts = value.trim().split("/", 2);
+            InetAddress address = parseLiteral(parts[0]);
+            if (address == null) {
+                throw new IllegalArgumentException("Trusted proxy must be an IP address or CIDR block: " + value);
+            }
+            byte[] network = address.getAddress();
+            int prefixLength = parts.length == 2 ? Integer.parseInt(parts[1].trim()) : network.length * 8;
+            if (prefixLength < 0 || prefixLength > network.length * 8) {
+                throw new IllegalArgumentException("Invalid prefix length in trusted proxy " + value);
+            }
+            return new AddressRange(network, prefixLength);
+        }
+
+        boolean contains(InetAddress address) {
+            byte[] candidate = address.getAddress();
+            if (candidate.length != network.length) {
+                return false;
+            }
+            int fullBytes = prefixLength / 8;
+            for (int i = 0; i < fullBytes; i++) {
+                if (candidate[i] != network[i]) {
+                    return false;
+                }
+            }
+            int remainingBits = prefixLength % 8;
+            if (remainingBits == 0) {
+                return true;
+            }
+            int mask = (0xFF << (8 - remainingBits)) & 0xFF;
+            return (candidate[fullBytes] & mask) == (network[fullBytes] & mask);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.vehicle.gateway.admission;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Data;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+
+// In-memory replacement for RedisRateLimiter: one token bucket per route and client, evicted once idle
+@Component
+public class TokenBucketRateLimiter extends AbstractRateLimiter<TokenBucketRateLimiter.Config> {
+    public static final String CONFIGURATION_PROPERTY_NAME = "token-bucket";
+
+    private final Cache<String, TokenBucket> buckets;
+    private final AdmissionMetrics metrics;
+    private final Config defaultConfig = new Config();
+
+    public TokenBucketRateLimiter(ConfigurationService configurationService, AdmissionMetrics metrics,
+                                  @Value("${gateway.rate-limit.max-clients:100000}") long maxClients,
+                                  @Value("${gateway.rate-limit.idle-timeout:10m}") Duration idleTimeout) {
+        super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+        this.metrics = metrics;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(idleTimeout)
+                .build();
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        Config config = getConfig().getOrDefault(routeId, defaultConfig);
+        TokenBucket bucket = buckets.get(routeId + '|' + id, key -> new TokenBucket(config.getBurstCapacity()));
+        long remaining = bucket.tryConsume(config.getReplenishRate(), config.getBurstCapacity(),
+                config.getRequestedTokens());
+        boolean allowed = remaining >= 0;
+        metrics.record(routeId, AdmissionMetrics.RATE_LIMITER, allowed);
+        return Mono.just(new Response(allowed, headers(config, Math.max(remaining, 0))));
+    }
+
+    private static Map<String, String> headers(Config config, long remaining) {
+        return Map.of(
+                "X-RateLimit-Remaining", Long.toString(remaining),
+                "X-RateLimit-Replenish-Rate", Integer.toString(config.getReplenishRate()),
+                "X-RateLimit-Burst-Capacity", Integer.toString(config.getBurstCapacity()));
+    }
+
+    @Data
+    public static class Config {
+        // Tokens added per second
+        private int replenishRate = 100;
+        private int burstCapacity = 200;
+        private int requestedTokens = 1;
+    }
+
+    static final class TokenBucket {
+        private double tokens;
+        private long refilledAt = System.nanoTime();
+
+        TokenBucket(int capacity) {
+            this.tokens = capacity;
+        }
+
+        // Returns the tokens left after taking the request, or -1 if the bucket could not cover it
+        synchronized long tryConsume(int replenishRate, int capacity, int requested) {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - refilledAt) * replenishRate / 1_000_000_000d);
+            refilledAt = now;
+            if (tokens < requested) {
+                return -1;
+            }
+            tokens -= requested;
+            return (long) tokens;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.vehicle.gateway.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Adaptive in-flight limit for one downstream, after TCP Vegas: the gap between the no-load latency and the
+// latency just observed estimates how many requests are queued downstream, and the limit grows while that
+// queue is short and shrinks once it builds up or requests start failing
+public class VegasConcurrencyLimiter {
+    // Re-learn the no-load latency periodically so a downstream that became permanently slower is not starved
+    private static final int PROBE_INTERVAL_SAMPLES = 1000;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+
+    // Guarded by this
+    private long minRttNanos = Long.MAX_VALUE;
+    private int samplesSinceProbe;
+
+    public VegasConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+    }
+
+    // Returns the number of requests in flight including this one, or -1 if the limit is reached
+    public int tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return -1;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    // Releases without feeding the algorithm, e.g. when the client went away before the response
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public void onSample(long rttNanos, int inFlightAtStart, boolean dropped) {
+        inFlight.decrementAndGet();
+        update(rttNanos, inFlightAtStart, dropped);
+    }
+
+    private synchronized void update(long rttNanos, int inFlightAtStart, boolean dropped) {
+        int current = limit;
+        double step = Math.max(1, Math.log10(current));
+        if (dropped) {
+            limit = clamp(current - step);
+            return;
+        }
+        if (++samplesSinceProbe >= PROBE_INTERVAL_SAMPLES) {
+            samplesSinceProbe = 0;
+            minRttNanos = rttNanos;
+        }
+        minRttNanos = Math.min(minRttNanos, Math.max(1, rttNanos));
+        // A lightly used limit says nothing about the downstream's capacity
+        if (inFlightAtStart * 2 < current) {
+            return;
+        }
+
+        int queued = (int) Math.ceil(current * (1 - (double) minRttNanos / Math.max(rttNanos, minRttNanos)));
+        double alpha = 3 * step;
+        double beta = 6 * step;
+        if (queued <= step) {
+            limit = clamp(current + beta);
+        } else if (queued < alpha) {
+            limit = clamp(current + step);
+        } else if (queued > beta) {
+            limit = clamp(current - step);
+        }
+    }
+
+    private int clamp(double candidate) {
+        return (int) Math.min(maxLimit, Math.max(minLimit, candidate));
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
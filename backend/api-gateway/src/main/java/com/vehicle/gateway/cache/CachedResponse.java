@@ -0,0 +1,6 @@
+package com.vehicle.gateway.cache;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+
+public record CachedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body, String etag, long ttlNanos) {}
@@ -0,0 +1,78 @@
+package com.vehicle.gateway.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@Slf4j
+public class ResponseCache {
+    private final Cache<String, CachedResponse> cache;
+    private final ConcurrentHashMap<String, Sinks.One<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+    // Bumped on every invalidation so responses fetched before it are not stored afterwards
+    private final AtomicLong generation = new AtomicLong();
+
+    public ResponseCache(ResponseCacheProperties properties) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.maxEntries())
+                .expireAfter(new Expiry<String, CachedResponse>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedResponse response, long currentTime) {
+                        return response.ttlNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedResponse response, long currentTime, long currentDuration) {
+                        return response.ttlNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedResponse response, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    public CachedResponse get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    public long generation() {
+        return generation.get();
+    }
+
+    public void put(String key, CachedResponse response, long fetchedAtGeneration) {
+        if (generation.get() == fetchedAtGeneration) {
+            cache.put(key, response);
+        }
+    }
+
+    // Returns the pending fetch for this key, or null if the caller has become the one to fetch it
+    public Mono<CachedResponse> joinInFlight(String key, Sinks.One<CachedResponse> leader) {
+        Sinks.One<CachedResponse> existing = inFlight.putIfAbsent(key, leader);
+        return existing == null ? null : existing.asMono();
+    }
+
+    public void completeInFlight(String key, Sinks.One<CachedResponse> leader, CachedResponse response) {
+        inFlight.remove(key, leader);
+        if (response != null) {
+            leader.tryEmitValue(response);
+        } else {
+            leader.tryEmitEmpty();
+        }
+    }
+
+    public void invalidatePrefix(String pathPrefix) {
+        generation.incrementAndGet();
+        cache.asMap().keySet().removeIf(key -> key.startsWith(pathPrefix));
+        log.debug("Invalidated cached responses under {}", pathPrefix);
+    }
+}
@@ -0,0 +1,177 @@
+package com.vehicle.gateway.cache;
+
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Serves repeated GETs from a bounded cache and collapses identical concurrent GETs into one backend call
+@Component
+public class ResponseCacheGatewayFilterFactory extends AbstractGatewayFilterFactory<Object> {
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+    private static final String CACHE_STATUS_HEADER = "X-Cache";
+    private static final Set<HttpMethod> WRITES = Set.of(HttpMethod.POST, HttpMethod.PUT, HttpMethod.PATCH,
+            HttpMethod.DELETE);
+
+    private final ResponseCache responseCache;
+    private final ResponseCacheProperties properties;
+
+    public ResponseCacheGatewayFilterFactory(ResponseCache responseCache, ResponseCacheProperties properties) {
+        super(Object.class);
+        this.responseCache = responseCache;
+        this.properties = properties;
+    }
+
+    @Override
+    public GatewayFilter apply(Object config) {
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            if (WRITES.contains(request.getMethod())) {
+                // A write through the gateway makes everything cached under the same resource stale
+                responseCache.invalidatePrefix(resourcePrefix(request));
+                return chain.filter(exchange);
+            }
+            if (request.getMethod() != HttpMethod.GET) {
+                return chain.filter(exchange);
+            }
+            if (noCache(request.getHeaders().getCacheControl()) || isStreaming(request)) {
+                return chain.filter(exchange);
+            }
+
+            String key = cacheKey(request);
+            CachedResponse cached = responseCache.get(key);
+            if (cached != null) {
+                return writeCached(exchange, cached, "HIT");
+            }
+
+            Sinks.One<CachedResponse> leader = Sinks.one();
+            Mono<CachedResponse> pending = responseCache.joinInFlight(key, leader);
+            if (pending != null) {
+                return pending.map(Optional::of)
+                        .defaultIfEmpty(Optional.empty())
+                        .flatMap(response -> response.isPresent()
+                                ? writeCached(exchange, response.get(), "COALESCED")
+                                : chain.filter(exchange));
+            }
+
+            long generation = responseCache.generation();
+            CachingResponse caching = new CachingResponse(exchange.getResponse(), key, generation, leader);
+            return chain.filter(exchange.mutate().response(caching).build())
+                    .doFinally(signal -> caching.finish(null));
+        }, NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1);
+    }
+
+    private Mono<Void> writeCached(ServerWebExchange exchange, CachedResponse cached, String cacheStatus) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.getHeaders().putAll(cached.headers());
+        response.getHeaders().set(CACHE_STATUS_HEADER, cacheStatus);
+        if (exchange.getRequest().getHeaders().getIfNoneMatch().contains(cached.etag())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+        response.setStatusCode(cached.status());
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    private static String cacheKey(ServerHttpRequest request) {
+        String accept = request.getHeaders().getFirst(HttpHeaders.ACCEPT);
+        return request.getURI().getRawPath() + "?" + Optional.ofNullable(request.getURI().getRawQuery()).orElse("")
+                + "|" + Optional.ofNullable(accept).orElse("");
+    }
+
+    private static String resourcePrefix(ServerHttpRequest request) {
+        // /api/{resource}/... -> /api/{resource}
+        String[] segments = request.getURI().getRawPath().split("/", 4);
+        return segments.length >= 3 ? "/" + segments[1] + "/" + segments[2] : request.getURI().getRawPath();
+    }
+
+    private static boolean isStreaming(ServerHttpRequest request) {
+        return request.getHeaders().getAccept().stream()
+                .anyMatch(type -> MediaType.TEXT_EVENT_STREAM.includes(type)
+                        || MediaType.APPLICATION_NDJSON.includes(type));
+    }
+
+    private static boolean noCache(String cacheControl) {
+        return cacheControl != null && (cacheControl.contains("no-cache") || cacheControl.contains("no-store")
+                || cacheControl.contains("private"));
+    }
+
+    private final class CachingResponse extends ServerHttpResponseDecorator {
+        private final String key;
+        private final long generation;
+        private final Sinks.One<CachedResponse> leader;
+
+        private CachingResponse(ServerHttpResponse delegate, String key, long generation, Sinks.One<CachedResponse> leader) {
+            super(delegate);
+            this.key = key;
+            this.generation = generation;
+            this.leader = leader;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            return DataBufferUtils.join(Flux.from(body)).flatMap(joined -> {
+                byte[] bytes = new byte[joined.readableByteCount()];
+                joined.read(bytes);
+                DataBufferUtils.release(joined);
+
+                HttpStatusCode status = getStatusCode() == null ? HttpStatus.OK : getStatusCode();
+                String cacheControl = getHeaders().getCacheControl();
+                if (status.value() == HttpStatus.OK.value() && !noCache(cacheControl)) {
+                    if (getHeaders().getETag() == null) {
+                        getHeaders().setETag("\"" + DigestUtils.md5DigestAsHex(bytes) + "\"");
+                    }
+                    HttpHeaders headers = new HttpHeaders();
+                    headers.putAll(getHeaders());
+                    headers.remove(HttpHeaders.TRANSFER_ENCODING);
+                    headers.setContentLength(bytes.length);
+                    CachedResponse cached = new CachedResponse(status, HttpHeaders.readOnlyHttpHeaders(headers),
+                            bytes, getHeaders().getETag(), ttl(cacheControl).toNanos());
+                    responseCache.put(key, cached, generation);
+                    finish(cached);
+                } else {
+                    finish(null);
+                }
+                getHeaders().set(CACHE_STATUS_HEADER, "MISS");
+                return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+            });
+        }
+
+        private void finish(CachedResponse cached) {
+            responseCache.completeInFlight(key, leader, cached);
+        }
+
+        private Duration ttl(String cacheControl) {
+            if (cacheControl != null) {
+                Matcher maxAge = MAX_AGE.matcher(cacheControl);
+                if (maxAge.find()) {
+                    return Duration.ofSeconds(Long.parseLong(maxAge.group(1)));
+                }
+            }
+            return properties.defaultTtl();
+        }
+    }
+}
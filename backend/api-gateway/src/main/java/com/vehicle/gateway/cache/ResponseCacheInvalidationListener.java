@@ -0,0 +1,24 @@
+package com.vehicle.gateway.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class ResponseCacheInvalidationListener {
+    private final ResponseCache responseCache;
+    private final ResponseCacheProperties properties;
+
+    // Every gateway instance uses its own group so each one drops its own cache
+    @KafkaListener(topics = "vehicle-events",
+            groupId = "#{'gateway-cache-' + T(java.util.UUID).randomUUID()}")
+    public void onEvent(@Header(KafkaHeaders.RECEIVED_TOPIC) String topic) {
+        String prefix = properties.invalidation().get(topic);
+        if (prefix != null) {
+            responseCache.invalidatePrefix(prefix);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.vehicle.gateway.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "gateway.cache")
+public record ResponseCacheProperties(long maxEntries, Duration defaultTtl, Map<String, String> invalidation) {
+
+    public ResponseCacheProperties {
+        if (maxEntries <= 0) {
+            maxEntries = 10_000;
+        }
+        if (defaultTtl == null) {
+            defaultTtl = Duration.ofSeconds(5);
+        }
+        if (invalidation == null) {
+            invalidation = Map.of();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.vehicle.benchmarks;
+
+import com.vehicle.service.VehicleServiceApplication;
+import com.vehicle.service.model.Vehicle;
+import com.vehicle.service.service.VehicleService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// The vehicle service as configured by its default in-memory profile and by the production profile
+// (file-backed H2 with Flyway, a fixed Hikari pool and no SQL echo). coldStart runs once per fresh JVM;
+// the warmup fork creates the production database so the measured forks time a restart against existing data.
+@State(Scope.Benchmark)
+public class DatasourceProfileBenchmark {
+    private static final Path DATA_DIR = Path.of(System.getProperty("java.io.tmpdir"), "vehicle-profile-bench");
+    private static final String STEADY_DATABASE = "vehicledb-steady";
+
+    @Param({"in-memory", "production"})
+    public String profile;
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(value = 5, warmups = 1)
+    public void coldStart() {
+        ServiceContexts.start(VehicleServiceApplication.class, "profile-cold", properties(profile, "vehicledb")).close();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 3, time = 5)
+    @Measurement(iterations = 5, time = 5)
+    @Fork(1)
+    public Vehicle createVehicle(Running running) {
+        return running.vehicleService.createVehicle(Fixtures.vehicle(Fixtures.nextVin()));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 3, time = 5)
+    @Measurement(iterations = 5, time = 5)
+    @Fork(1)
+    public Optional<Vehicle> getVehicleById(Running running) {
+        return running.vehicleService.getVehicleById(1 + ThreadLocalRandom.current().nextLong(running.maxId));
+    }
+
+    @State(Scope.Benchmark)
+    public static class Running {
+        private ConfigurableApplicationContext context;
+        private VehicleService vehicleService;
+        private long maxId;
+
+        @Setup(Level.Trial)
+        public void setUp(DatasourceProfileBenchmark benchmark) throws IOException {
+            // Starts from an empty database so generated VINs never collide with a previous run
+            Files.deleteIfExists(DATA_DIR.resolve(STEADY_DATABASE + ".mv.db"));
+            Files.deleteIfExists(DATA_DIR.resolve(STEADY_DATABASE + ".trace.db"));
+            context = ServiceContexts.start(VehicleServiceApplication.class, "profile-steady",
+                    properties(benchmark.profile, STEADY_DATABASE));
+            vehicleService = context.getBean(VehicleService.class);
+            for (int i = 0; i < 1_000; i++) {
+                maxId = Math.max(maxId, vehicleService.createVehicle(Fixtures.vehicle(Fixtures.nextVin())).getId());
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            context.close();
+        }
+    }
+
+    // Mirrors the two documents in vehicle-service's application.yml
+    private static Map<String, Object> properties(String profile, String database) {
+        Map<String, Object> properties = new HashMap<>();
+        if ("production".equals(profile)) {
+            properties.put("spring.datasource.url", "jdbc:h2:file:" + DATA_DIR.resolve(database)
+                    + ";DB_CLOSE_ON_EXIT=FALSE;QUERY_CACHE_SIZE=64;NON_KEYWORDS=YEAR");
+            properties.put("spring.datasource.hikari.maximum-pool-size", "10");
+            properties.put("spring.datasource.hikari.minimum-idle", "10");
+            properties.put("spring.flyway.enabled", "true");
+            properties.put("spring.flyway.locations", "classpath:db/migration/vehicle");
+            properties.put("spring.jpa.hibernate.ddl-auto", "none");
+            properties.put("spring.jpa.properties.hibernate.query.plan_cache_max_size", "2048");
+            properties.put("spring.jpa.properties.hibernate.query.in_clause_parameter_padding", "true");
+        } else {
+            properties.put("spring.jpa.show-sql", "true");
+            properties.put("spring.jpa.properties.hibernate.format_sql", "true");
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,84 @@
+package com.vehicle.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.vehicle.events.EventEncoding;
+import com.vehicle.events.EventSchemas;
+import com.vehicle.manufacturing.kafka.ProductionEventCodec;
+import com.vehicle.manufacturing.model.ProductionOrder;
+import com.vehicle.order.dto.VehicleEventMessage;
+import com.vehicle.order.kafka.VehicleEventDecoder;
+import com.vehicle.service.kafka.VehicleEventCodec;
+import com.vehicle.service.model.Vehicle;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+// Status-change events as the producers write them and order-service reads them, per encoding. statusDeltas=true
+// sends only the changed fields. Payload sizes are printed once per trial, since they are fixed per configuration.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventSerializationBenchmark {
+    @Param({"JSON", "AVRO"})
+    public EventEncoding encoding;
+
+    @Param({"false", "true"})
+    public boolean statusDeltas;
+
+    private ObjectMapper objectMapper;
+    private VehicleEventCodec vehicleCodec;
+    private ProductionEventCodec productionCodec;
+    private VehicleEventDecoder vehicleDecoder;
+    private Vehicle vehicle;
+    private ProductionOrder productionOrder;
+    private byte[] vehicleEvent;
+    private byte[] productionEvent;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        vehicleCodec = new VehicleEventCodec(objectMapper, encoding, statusDeltas);
+        productionCodec = new ProductionEventCodec(objectMapper, encoding, statusDeltas);
+        vehicleDecoder = new VehicleEventDecoder(objectMapper);
+        vehicle = Fixtures.vehicle(Fixtures.nextVin());
+        vehicle.setId(1L);
+        vehicle.setCreatedAt(LocalDateTime.now());
+        vehicle.setUpdatedAt(LocalDateTime.now());
+        productionOrder = Fixtures.productionOrder(vehicle.getVin());
+        vehicleEvent = serializeVehicleEvent();
+        productionEvent = serializeProductionEvent();
+        System.out.printf("%s statusDeltas=%s: vehicle event %d bytes, production event %d bytes%n",
+                encoding, statusDeltas, vehicleEvent.length, productionEvent.length);
+    }
+
+    @Benchmark
+    public byte[] serializeVehicleEvent() throws IOException {
+        return vehicleCodec.encode("VEHICLE_STATUS_CHANGED", vehicle);
+    }
+
+    @Benchmark
+    public byte[] serializeProductionEvent() throws IOException {
+        return productionCodec.encode("PRODUCTION_STAGE_CHANGED", productionOrder);
+    }
+
+    // order-service's read path
+    @Benchmark
+    public VehicleEventMessage parseVehicleEvent() throws IOException {
+        return vehicleDecoder.decode(vehicleEvent);
+    }
+
+    // Nothing in the tree consumes production-events payloads yet, so this reads them generically
+    @Benchmark
+    public Object parseProductionEvent() throws IOException {
+        if (EventSchemas.isAvro(productionEvent)) {
+            return EventSchemas.decode(productionEvent);
+        }
+        return objectMapper.readTree(productionEvent);
+    }
+}
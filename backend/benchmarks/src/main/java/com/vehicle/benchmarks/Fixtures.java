@@ -0,0 +1,78 @@
+package com.vehicle.benchmarks;
+
+import com.vehicle.manufacturing.model.ProductionOrder;
+import com.vehicle.manufacturing.model.ProductionStage;
+import com.vehicle.manufacturing.model.ProductionStatus;
+import com.vehicle.order.model.Order;
+import com.vehicle.service.model.Vehicle;
+import com.vehicle.service.model.VehicleStatus;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+final class Fixtures {
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+    private static final String[] MAKES = {"Toyota", "Ford", "Tesla", "BMW", "Honda"};
+    private static final String[] MODELS = {"Sedan", "Pickup", "Model Y", "X5", "Civic"};
+    private static final String[] COLORS = {"Red", "Blue", "Black", "White", "Silver"};
+
+    private Fixtures() {
+    }
+
+    static String nextVin() {
+        return String.format("BENCH%012d", SEQUENCE.incrementAndGet());
+    }
+
+    static Vehicle vehicle(String vin) {
+        int i = ThreadLocalRandom.current().nextInt(MAKES.length);
+        Vehicle vehicle = new Vehicle();
+        vehicle.setVin(vin);
+        vehicle.setMake(MAKES[i]);
+        vehicle.setModel(MODELS[i]);
+        vehicle.setYear(2020 + i);
+        vehicle.setColor(COLORS[i]);
+        vehicle.setType("SUV");
+        vehicle.setEngineType("Hybrid");
+        vehicle.setTransmission("Automatic");
+        vehicle.setPrice(35000.0 + i * 1000);
+        vehicle.setStatus(VehicleStatus.IN_PRODUCTION);
+        vehicle.setManufacturingDate(LocalDateTime.now());
+        return vehicle;
+    }
+
+    static Order order(String vin) {
+        Order order = new Order();
+        order.setOrderNumber("ORD-" + SEQUENCE.incrementAndGet());
+        order.setCustomerId("CUST-" + ThreadLocalRandom.current().nextInt(10_000));
+        order.setCustomerName("Benchmark Customer");
+        order.setCustomerEmail("bench@example.com");
+        order.setVehicleVin(vin);
+        order.setVehicleMake("Toyota");
+        order.setVehicleModel("Sedan");
+        order.setVehicleYear(2024);
+        order.setVehicleColor("Red");
+        order.setTotalPrice(42000.0);
+        order.setDepositAmount(5000.0);
+        order.setDeliveryAddress("1 Benchmark Way");
+        return order;
+    }
+
+    static ProductionOrder productionOrder(String vin) {
+        ProductionOrder order = new ProductionOrder();
+        order.setId(SEQUENCE.incrementAndGet());
+        order.setOrderNumber("PO-" + order.getId());
+        order.setVehicleVin(vin);
+        order.setVehicleMake("Toyota");
+        order.setVehicleModel("Sedan");
+        order.setCurrentStage(ProductionStage.PAINTING);
+        order.setStatus(ProductionStatus.IN_PROGRESS);
+        order.setQuantity(1);
+        order.setStartDate(LocalDateTime.now());
+        order.setAssignedLine("LINE-1");
+        order.setCompletionPercentage(60.0);
+        order.setCreatedAt(LocalDateTime.now());
+        order.setUpdatedAt(LocalDateTime.now());
+        return order;
+    }
+}
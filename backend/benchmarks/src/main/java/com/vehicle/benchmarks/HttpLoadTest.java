@@ -0,0 +1,108 @@
+package com.vehicle.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Closed-loop HTTP load generator used to compare a service started with and without the virtual-threads profile.
+// The client always has <concurrency> requests outstanding, so how many the server actually handles at once is read
+// from its http.server.requests.active metric while the load runs.
+// Usage: HttpLoadTest <url> <concurrency> <durationSeconds>
+public final class HttpLoadTest {
+    private static final String ACTIVE_REQUESTS_METRIC = "/actuator/metrics/http.server.requests.active";
+    private static final Duration SAMPLE_INTERVAL = Duration.ofMillis(50);
+
+    private HttpLoadTest() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        if (args.length < 3) {
+            System.err.println("Usage: HttpLoadTest <url> <concurrency> <durationSeconds>");
+            System.exit(1);
+        }
+        URI uri = URI.create(args[0]);
+        int concurrency = Integer.parseInt(args[1]);
+        Duration duration = Duration.ofSeconds(Long.parseLong(args[2]));
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build();
+        Histogram latencies = new ConcurrentHistogram(Duration.ofSeconds(60).toNanos(), 3);
+        AtomicLong errors = new AtomicLong();
+        AtomicInteger serverMaxActive = new AtomicInteger(-1);
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        List<Thread> workers = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            Thread worker = new Thread(() -> {
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() >= 400) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                    latencies.recordValue(Math.min(System.nanoTime() - start, latencies.getHighestTrackableValue()));
+                }
+            }, "load-" + i);
+            worker.start();
+            workers.add(worker);
+        }
+        Thread sampler = new Thread(() -> sampleActiveRequests(client, uri, deadline, serverMaxActive), "sampler");
+        sampler.start();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        sampler.join();
+
+        double seconds = duration.toMillis() / 1000.0;
+        System.out.printf("requests=%d errors=%d throughput=%.1f/s serverMaxActive=%s%n",
+                latencies.getTotalCount(), errors.get(), latencies.getTotalCount() / seconds,
+                serverMaxActive.get() < 0 ? "n/a" : String.valueOf(serverMaxActive.get()));
+        System.out.printf("p50=%.2fms p99=%.2fms p99.9=%.2fms max=%.2fms%n",
+                latencies.getValueAtPercentile(50) / 1e6, latencies.getValueAtPercentile(99) / 1e6,
+                latencies.getValueAtPercentile(99.9) / 1e6, latencies.getMaxValue() / 1e6);
+    }
+
+    // The sampling request is itself active while the server reads the metric, so it is not counted. Leaves the
+    // maximum at -1 if the service does not expose the metric.
+    private static void sampleActiveRequests(HttpClient client, URI target, long deadline, AtomicInteger maxActive) {
+        ObjectMapper objectMapper = new ObjectMapper();
+        HttpRequest request = HttpRequest.newBuilder(target.resolve(ACTIVE_REQUESTS_METRIC))
+                .timeout(Duration.ofSeconds(5))
+                .GET()
+                .build();
+        while (System.nanoTime() < deadline) {
+            try {
+                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() != 200) {
+                    return;
+                }
+                for (JsonNode measurement : objectMapper.readTree(response.body()).path("measurements")) {
+                    if ("ACTIVE_TASKS".equals(measurement.path("statistic").asText())) {
+                        maxActive.accumulateAndGet(measurement.path("value").asInt() - 1, Math::max);
+                    }
+                }
+                Thread.sleep(SAMPLE_INTERVAL.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                // A sample lost under load; the next one may get through
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.vehicle.benchmarks;
+
+import com.vehicle.inventory.InventoryServiceApplication;
+import com.vehicle.inventory.model.InventoryItem;
+import com.vehicle.inventory.service.InventoryService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InventoryServiceBenchmark {
+    private static final int PARTS = 100;
+
+    private ConfigurableApplicationContext context;
+    private InventoryService inventoryService;
+    private long[] itemIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ServiceContexts.start(InventoryServiceApplication.class, "inventory-bench");
+        inventoryService = context.getBean(InventoryService.class);
+        itemIds = new long[PARTS];
+        for (int i = 0; i < PARTS; i++) {
+            InventoryItem item = new InventoryItem();
+            item.setPartNumber("PART-" + i);
+            item.setPartName("Benchmark part " + i);
+            item.setCategory(i % 2 == 0 ? "ENGINE" : "BODY");
+            item.setQuantityInStock(1_000_000);
+            item.setReorderLevel(100);
+            item.setMaxStockLevel(2_000_000);
+            item.setUnitPrice(10.0);
+            itemIds[i] = inventoryService.createItem(item).getId();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public InventoryItem adjustStock() {
+        return adjust();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public InventoryItem adjustStockConcurrent() {
+        return adjust();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public InventoryItem adjustStockHighlyConcurrent() {
+        return adjust();
+    }
+
+    private InventoryItem adjust() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return inventoryService.adjustStock(itemIds[random.nextInt(PARTS)], random.nextBoolean() ? 1 : -1);
+    }
+}
@@ -0,0 +1,61 @@
+package com.vehicle.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vehicle.service.VehicleServiceApplication;
+import com.vehicle.service.model.Vehicle;
+import com.vehicle.service.service.VehicleService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Full entities versus a sparse fieldset for the same list query, serialized as the controller would.
+// Run with -prof gc to compare allocation per operation; the response sizes are printed at setup.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class ListProjectionBenchmark {
+    private static final int PRELOADED_VEHICLES = 10_000;
+    private static final String MAKE = "Toyota";
+    private static final List<String> GRID_FIELDS = List.of("vin", "make", "model", "year", "status");
+
+    private ConfigurableApplicationContext context;
+    private VehicleService vehicleService;
+    private ObjectMapper objectMapper;
+
+    @Setup(Level.Trial)
+    public void setUp() throws JsonProcessingException {
+        context = ServiceContexts.start(VehicleServiceApplication.class, "projection-bench");
+        vehicleService = context.getBean(VehicleService.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        List<Vehicle> vehicles = new ArrayList<>(PRELOADED_VEHICLES);
+        for (int i = 0; i < PRELOADED_VEHICLES; i++) {
+            vehicles.add(Fixtures.vehicle(Fixtures.nextVin()));
+        }
+        vehicleService.createVehicles(vehicles);
+        System.out.printf("%nResponse bytes for make=%s: entities=%d, fields=%s -> %d%n", MAKE,
+                entitiesByMake().length, GRID_FIELDS, fieldsByMake().length);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] entitiesByMake() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(vehicleService.getVehiclesByMake(MAKE));
+    }
+
+    @Benchmark
+    public byte[] fieldsByMake() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(vehicleService.getVehicleFields(GRID_FIELDS, Map.of("make", MAKE)));
+    }
+}
@@ -0,0 +1,51 @@
+package com.vehicle.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.vehicle.manufacturing.model.ProductionOrder;
+import com.vehicle.service.model.Vehicle;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class ListResponseSerializationBenchmark {
+    @Param({"1000", "100000"})
+    public int rows;
+
+    private ObjectMapper objectMapper;
+    private List<Vehicle> vehicles;
+    private List<ProductionOrder> productionOrders;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        vehicles = new ArrayList<>(rows);
+        productionOrders = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Vehicle vehicle = Fixtures.vehicle(Fixtures.nextVin());
+            vehicle.setId((long) i);
+            vehicles.add(vehicle);
+            productionOrders.add(Fixtures.productionOrder(vehicle.getVin()));
+        }
+    }
+
+    @Benchmark
+    public void serializeVehicleList() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), vehicles);
+    }
+
+    @Benchmark
+    public void serializeProductionOrderList() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), productionOrders);
+    }
+}
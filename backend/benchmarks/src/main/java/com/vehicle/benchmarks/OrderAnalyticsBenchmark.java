@@ -0,0 +1,74 @@
+package com.vehicle.benchmarks;
+
+import com.vehicle.order.OrderServiceApplication;
+import com.vehicle.order.analytics.OrderAnalyticsEngine;
+import com.vehicle.order.dto.OrderAnalytics;
+import com.vehicle.order.dto.OrderAnalyticsQuery;
+import com.vehicle.order.dto.OrderAnalyticsQuery.Dimension;
+import com.vehicle.order.model.OrderStatus;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Aggregations over the columnar order snapshot at production scale: 1000 makes, 10000 models and three years of
+// order dates. Every query scans all rows; the grouping, the filters and the number of groups differ.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class OrderAnalyticsBenchmark {
+    private static final int LIMIT = 100;
+
+    @Param({"1000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private OrderAnalyticsEngine analytics;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ServiceContexts.start(OrderServiceApplication.class, "analytics-bench");
+        analytics = context.getBean(OrderAnalyticsEngine.class);
+        SyntheticRows.orders(context.getBean(JdbcTemplate.class), rows);
+        analytics.rebuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // Eight groups, one per status
+    @Benchmark
+    public OrderAnalytics depositsByStatus() {
+        return analytics.query(query(List.of(Dimension.STATUS), Set.of(), Set.of(), null));
+    }
+
+    // ~37000 groups, so merging the per-chunk tables is part of the cost
+    @Benchmark
+    public OrderAnalytics revenueByMakeAndMonth() {
+        return analytics.query(query(List.of(Dimension.MAKE, Dimension.MONTH), Set.of(), Set.of(), null));
+    }
+
+    // One make over the last year, by model and month, as the sales dashboard drills down
+    @Benchmark
+    public OrderAnalytics filteredByMake() {
+        return analytics.query(query(List.of(Dimension.MODEL, Dimension.MONTH),
+                Set.of(OrderStatus.CONFIRMED, OrderStatus.DELIVERED),
+                Set.of("MAKE-" + ThreadLocalRandom.current().nextInt(1000)),
+                LocalDate.now().minusYears(1)));
+    }
+
+    private static OrderAnalyticsQuery query(List<Dimension> groupBy, Set<OrderStatus> statuses, Set<String> makes,
+                                             LocalDate from) {
+        return new OrderAnalyticsQuery(groupBy, statuses, makes, Set.of(), from, null, LIMIT);
+    }
+}
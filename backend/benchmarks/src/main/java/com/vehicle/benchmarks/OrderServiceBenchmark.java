@@ -0,0 +1,42 @@
+package com.vehicle.benchmarks;
+
+import com.vehicle.order.OrderServiceApplication;
+import com.vehicle.order.model.Order;
+import com.vehicle.order.service.OrderService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderServiceBenchmark {
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ServiceContexts.start(OrderServiceApplication.class, "order-bench");
+        orderService = context.getBean(OrderService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Order createOrder() {
+        return orderService.createOrder(Fixtures.order(Fixtures.nextVin()));
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Order createOrderConcurrent() {
+        return orderService.createOrder(Fixtures.order(Fixtures.nextVin()));
+    }
+}
@@ -0,0 +1,99 @@
+package com.vehicle.benchmarks;
+
+import com.vehicle.order.OrderServiceApplication;
+import com.vehicle.order.model.Order;
+import com.vehicle.order.repository.OrderRepository;
+import com.vehicle.service.VehicleServiceApplication;
+import com.vehicle.service.model.Vehicle;
+import com.vehicle.service.repository.VehicleRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Secondary-index finders at production scale; indexed=false drops the declared indexes to show the scan cost
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class RepositoryFinderBenchmark {
+    private static final List<String> VEHICLE_INDEXES = List.of(
+            "idx_vehicles_make_model", "idx_vehicles_model", "idx_vehicles_year", "idx_vehicles_status");
+    private static final List<String> ORDER_INDEXES = List.of(
+            "idx_orders_order_number", "idx_orders_customer_id", "idx_orders_vehicle_vin", "idx_orders_status");
+
+    @Param({"1000000"})
+    public int rows;
+
+    @Param({"true", "false"})
+    public boolean indexed;
+
+    private ConfigurableApplicationContext vehicleContext;
+    private ConfigurableApplicationContext orderContext;
+    private VehicleRepository vehicleRepository;
+    private OrderRepository orderRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        vehicleContext = ServiceContexts.start(VehicleServiceApplication.class, "finder-bench-vehicles");
+        orderContext = ServiceContexts.start(OrderServiceApplication.class, "finder-bench-orders");
+        vehicleRepository = vehicleContext.getBean(VehicleRepository.class);
+        orderRepository = orderContext.getBean(OrderRepository.class);
+
+        JdbcTemplate vehicleJdbc = vehicleContext.getBean(JdbcTemplate.class);
+        JdbcTemplate orderJdbc = orderContext.getBean(JdbcTemplate.class);
+        SyntheticRows.vehicles(vehicleJdbc, rows);
+        SyntheticRows.orders(orderJdbc, rows);
+        if (!indexed) {
+            VEHICLE_INDEXES.forEach(index -> vehicleJdbc.execute("drop index if exists " + index));
+            ORDER_INDEXES.forEach(index -> orderJdbc.execute("drop index if exists " + index));
+        }
+        vehicleJdbc.execute("analyze");
+        orderJdbc.execute("analyze");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        vehicleContext.close();
+        orderContext.close();
+    }
+
+    // ~1000 rows per make
+    @Benchmark
+    public List<Vehicle> vehicleFindByMake() {
+        return vehicleRepository.findByMake("MAKE-" + random(1000));
+    }
+
+    // ~100 rows per make and model
+    @Benchmark
+    public List<Vehicle> vehicleFindByMakeAndModel() {
+        int model = random(10_000);
+        return vehicleRepository.findByMakeAndModel("MAKE-" + model % 1000, "MODEL-" + model);
+    }
+
+    // rows / 30 per year, so this one is dominated by hydration rather than lookup
+    @Benchmark
+    public List<Vehicle> vehicleFindByYear() {
+        return vehicleRepository.findByYear(1995 + random(30));
+    }
+
+    // ~10 rows per customer
+    @Benchmark
+    public List<Order> orderFindByCustomerId() {
+        return orderRepository.findByCustomerId("CUST-" + random(100_000));
+    }
+
+    @Benchmark
+    public List<Order> orderFindByVehicleVin() {
+        return orderRepository.findByVehicleVin(String.format("SYN%014d", 1 + random(rows)));
+    }
+
+    private static int random(int bound) {
+        return ThreadLocalRandom.current().nextInt(bound);
+    }
+}
@@ -0,0 +1,48 @@
+package com.vehicle.benchmarks;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Boots one service's Spring context against a private in-memory H2 database, without web, Eureka or Kafka
+final class ServiceContexts {
+
+    private ServiceContexts() {
+    }
+
+    static ConfigurableApplicationContext start(Class<?> application, String database) {
+        return start(application, database, Map.of());
+    }
+
+    static ConfigurableApplicationContext start(Class<?> application, String database, Map<String, Object> overrides) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("spring.datasource.url", "jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1;NON_KEYWORDS=YEAR");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("spring.flyway.enabled", "false");
+        properties.put("spring.jpa.properties.hibernate.jdbc.batch_size", "100");
+        properties.put("spring.jpa.properties.hibernate.order_inserts", "true");
+        properties.put("spring.kafka.admin.auto-create", "false");
+        properties.put("spring.kafka.listener.auto-startup", "false");
+        properties.put("eureka.client.enabled", "false");
+        properties.put("spring.cloud.discovery.enabled", "false");
+        properties.put("outbox.relay.enabled", "false");
+        properties.put("vehicle.cache.vin.kafka-invalidation", "false");
+        properties.put("vehicle.search.kafka-sync", "false");
+        properties.put("order.vehicle-projection.snapshot-enabled", "false");
+        properties.put("order.archive.enabled", "false");
+        properties.put("manufacturing.archive.enabled", "false");
+        properties.put("logging.level.root", "WARN");
+        properties.putAll(overrides);
+
+        return new SpringApplicationBuilder(application)
+                .web(WebApplicationType.NONE)
+                .properties(properties)
+                .logStartupInfo(false)
+                .run();
+    }
+}
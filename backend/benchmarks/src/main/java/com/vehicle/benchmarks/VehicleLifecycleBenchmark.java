@@ -0,0 +1,60 @@
+package com.vehicle.benchmarks;
+
+import com.vehicle.service.VehicleServiceApplication;
+import com.vehicle.service.dto.VehicleLifecycle;
+import com.vehicle.service.dto.VehicleStatusAt;
+import com.vehicle.service.service.VehicleLifecycleLog;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Lifecycle reads against a log of ten million transitions: 200000 VINs with 50 each. The current status and dwell
+// totals come from the snapshot row; status-at looks up one event through the (vin, occurred_at) index.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@State(Scope.Benchmark)
+public class VehicleLifecycleBenchmark {
+    @Param({"200000"})
+    public int vins;
+
+    @Param({"50"})
+    public int transitionsPerVin;
+
+    private ConfigurableApplicationContext context;
+    private VehicleLifecycleLog lifecycleLog;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ServiceContexts.start(VehicleServiceApplication.class, "lifecycle-bench");
+        lifecycleLog = context.getBean(VehicleLifecycleLog.class);
+        SyntheticRows.vehicleLifecycles(context.getBean(JdbcTemplate.class), vins, transitionsPerVin);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<VehicleLifecycle> currentLifecycle() {
+        return lifecycleLog.getLifecycle(randomVin());
+    }
+
+    @Benchmark
+    public Optional<VehicleStatusAt> statusAt() {
+        LocalDateTime at = LocalDateTime.now().minusHours(ThreadLocalRandom.current().nextInt(transitionsPerVin));
+        return lifecycleLog.getStatusAt(randomVin(), at);
+    }
+
+    private String randomVin() {
+        return "SYN" + String.format("%014d", ThreadLocalRandom.current().nextInt(vins) + 1);
+    }
+}
@@ -0,0 +1,71 @@
+package com.vehicle.benchmarks;
+
+import com.vehicle.service.VehicleServiceApplication;
+import com.vehicle.service.dto.VehicleSearchQuery;
+import com.vehicle.service.dto.VehicleSearchResult;
+import com.vehicle.service.search.VehicleSearchIndex;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Faceted search over the in-memory index at production scale. Each search counts every facet and loads the top
+// 20 hits from the database, as the /search endpoint does. The rebuild time is logged at setup.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class VehicleSearchBenchmark {
+    private static final int LIMIT = 20;
+
+    @Param({"1000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private VehicleSearchIndex searchIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ServiceContexts.start(VehicleServiceApplication.class, "search-bench",
+                Map.of("logging.level.com.vehicle.service.search", "INFO"));
+        searchIndex = context.getBean(VehicleSearchIndex.class);
+        SyntheticRows.vehicles(context.getBean(JdbcTemplate.class), rows);
+        searchIndex.rebuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // Facet counts over every vehicle, the portal's landing page
+    @Benchmark
+    public VehicleSearchResult matchAll() {
+        return searchIndex.search(new VehicleSearchQuery(null, Map.of(), null, null, LIMIT));
+    }
+
+    // The analyzer splits MODEL-n into the terms model and n, so this also matches MAKE-n when n < 1000
+    @Benchmark
+    public VehicleSearchResult freeText() {
+        return searchIndex.search(new VehicleSearchQuery("MODEL-" + random(10_000), Map.of(), null, null, LIMIT));
+    }
+
+    // ~250 rows per make, year and price band, with sideways counts for each filtered facet
+    @Benchmark
+    public VehicleSearchResult filtered() {
+        Map<String, List<String>> filters = Map.of(
+                "make", List.of("MAKE-" + random(1000)),
+                "year", List.of(String.valueOf(1995 + random(30))));
+        return searchIndex.search(new VehicleSearchQuery(null, filters, 30000.0, 45000.0, LIMIT));
+    }
+
+    private static int random(int bound) {
+        return ThreadLocalRandom.current().nextInt(bound);
+    }
+}
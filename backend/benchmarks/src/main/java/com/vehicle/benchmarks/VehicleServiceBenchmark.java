@@ -0,0 +1,84 @@
+package com.vehicle.benchmarks;
+
+import com.vehicle.service.VehicleServiceApplication;
+import com.vehicle.service.model.Vehicle;
+import com.vehicle.service.service.VehicleService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VehicleServiceBenchmark {
+    private static final int PRELOADED_VEHICLES = 10_000;
+    private static final int BULK_SIZE = 500;
+
+    private ConfigurableApplicationContext context;
+    private VehicleService vehicleService;
+    private List<String> vins;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ServiceContexts.start(VehicleServiceApplication.class, "vehicle-bench");
+        vehicleService = context.getBean(VehicleService.class);
+        vins = new ArrayList<>(PRELOADED_VEHICLES);
+        for (int i = 0; i < PRELOADED_VEHICLES; i += BULK_SIZE) {
+            vehicleService.createVehicles(newVehicles(BULK_SIZE)).forEach(vehicle -> vins.add(vehicle.getVin()));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Vehicle> getVehicleByVin() {
+        return vehicleService.getVehicleByVin(randomVin());
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Optional<Vehicle> getVehicleByVinConcurrent() {
+        return vehicleService.getVehicleByVin(randomVin());
+    }
+
+    @Benchmark
+    public Vehicle createVehicle() {
+        return vehicleService.createVehicle(Fixtures.vehicle(Fixtures.nextVin()));
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Vehicle createVehicleConcurrent() {
+        return vehicleService.createVehicle(Fixtures.vehicle(Fixtures.nextVin()));
+    }
+
+    // Reported per row so the score compares directly with createVehicle
+    @Benchmark
+    @OperationsPerInvocation(BULK_SIZE)
+    public List<Vehicle> createVehiclesBulk() {
+        return vehicleService.createVehicles(newVehicles(BULK_SIZE));
+    }
+
+    private String randomVin() {
+        return vins.get(ThreadLocalRandom.current().nextInt(vins.size()));
+    }
+
+    private static List<Vehicle> newVehicles(int count) {
+        List<Vehicle> vehicles = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            vehicles.add(Fixtures.vehicle(Fixtures.nextVin()));
+        }
+        return vehicles;
+    }
+}
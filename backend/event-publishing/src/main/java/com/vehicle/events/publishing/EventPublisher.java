@@ -0,0 +1,111 @@
+package com.vehicle.events.publishing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+// Sends a batch of events and reports which were acknowledged, recording per topic:
+//   events.published{topic,outcome}   events sent, by success or failure
+//   events.published.bytes{topic}     serialized payload size
+//   events.publish.batch{topic}       events per publish call
+//   events.publish.latency{topic}     send to broker acknowledgement
+@Slf4j
+public class EventPublisher {
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentHashMap<String, TopicMeters> meters = new ConcurrentHashMap<>();
+
+    public EventPublisher(KafkaTemplate<String, byte[]> kafkaTemplate, MeterRegistry meterRegistry) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    // Returns the events the broker acknowledged within the timeout, in their original order
+    public <T> List<T> publish(List<T> events, Function<T, ProducerRecord<String, byte[]>> toRecord,
+                               Duration timeout) {
+        // Queue the whole batch first so the producer can pack it into as few requests as possible
+        List<CompletableFuture<SendResult<String, byte[]>>> sends = new ArrayList<>(events.size());
+        Map<String, Integer> perTopic = new HashMap<>();
+        for (T event : events) {
+            ProducerRecord<String, byte[]> record = toRecord.apply(event);
+            TopicMeters topic = meters(record.topic());
+            perTopic.merge(record.topic(), 1, Integer::sum);
+            if (record.value() != null) {
+                topic.bytes().record(record.value().length);
+            }
+            long start = System.nanoTime();
+            sends.add(kafkaTemplate.send(record).whenComplete((result, failure) -> {
+                topic.latency().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                (failure == null ? topic.succeeded() : topic.failed()).increment();
+            }));
+        }
+        kafkaTemplate.flush();
+        perTopic.forEach((topic, count) -> meters(topic).batch().record(count));
+
+        try {
+            CompletableFuture.allOf(sends.toArray(new CompletableFuture[0]))
+                    .get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            log.warn("Event batch partially failed, undelivered events will be retried", e);
+        }
+
+        List<T> delivered = new ArrayList<>(events.size());
+        for (int i = 0; i < events.size(); i++) {
+            CompletableFuture<SendResult<String, byte[]>> send = sends.get(i);
+            if (send.isDone() && !send.isCompletedExceptionally()) {
+                delivered.add(events.get(i));
+            }
+        }
+        return delivered;
+    }
+
+    private TopicMeters meters(String topic) {
+        return meters.computeIfAbsent(topic, name -> new TopicMeters(
+                counter(name, "success"),
+                counter(name, "failure"),
+                DistributionSummary.builder("events.published.bytes")
+                        .description("Serialized size of published events")
+                        .baseUnit("bytes")
+                        .tag("topic", name)
+                        .register(meterRegistry),
+                DistributionSummary.builder("events.publish.batch")
+                        .description("Events handed to the producer per publish call")
+                        .tag("topic", name)
+                        .register(meterRegistry),
+                Timer.builder("events.publish.latency")
+                        .description("Time from send to broker acknowledgement")
+                        .tag("topic", name)
+                        .publishPercentiles(0.5, 0.99)
+                        .register(meterRegistry)));
+    }
+
+    private Counter counter(String topic, String outcome) {
+        return Counter.builder("events.published")
+                .description("Events sent to Kafka")
+                .tag("topic", topic)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private record TopicMeters(Counter succeeded, Counter failed, DistributionSummary bytes,
+                               DistributionSummary batch, Timer latency) {}
+}
@@ -0,0 +1,49 @@
+package com.vehicle.events.publishing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.kafka.DefaultKafkaProducerFactoryCustomizer;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.util.Map;
+
+@AutoConfiguration(after = KafkaAutoConfiguration.class)
+@ConditionalOnClass(KafkaTemplate.class)
+@EnableConfigurationProperties(EventPublishingProperties.class)
+public class EventPublishingAutoConfiguration {
+
+    // Idempotence keeps retried batches from being duplicated or reordered within a partition, which together with
+    // keyed sends is what keeps one VIN's or order's events in order. Batching and compression stay per service
+    // under spring.kafka.producer.
+    @Bean
+    public DefaultKafkaProducerFactoryCustomizer idempotentProducerCustomizer() {
+        return producerFactory -> producerFactory.updateConfigs(Map.of(
+                ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true,
+                ProducerConfig.ACKS_CONFIG, "all",
+                ProducerConfig.RETRIES_CONFIG, Integer.MAX_VALUE,
+                ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5));
+    }
+
+    @Bean
+    public KafkaAdmin.NewTopics declaredTopics(EventPublishingProperties properties) {
+        return new KafkaAdmin.NewTopics(properties.topics().entrySet().stream()
+                .map(topic -> TopicBuilder.name(topic.getKey())
+                        .partitions(topic.getValue().partitions())
+                        .replicas(topic.getValue().replicas())
+                        .build())
+                .toArray(NewTopic[]::new));
+    }
+
+    @Bean
+    public EventPublisher eventPublisher(KafkaTemplate<String, byte[]> kafkaTemplate, MeterRegistry meterRegistry) {
+        return new EventPublisher(kafkaTemplate, meterRegistry);
+    }
+}
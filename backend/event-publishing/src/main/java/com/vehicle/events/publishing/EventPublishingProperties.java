@@ -0,0 +1,30 @@
+package com.vehicle.events.publishing;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Map;
+
+// Topics a service publishes to, created or grown at startup. Keyed topics route by a hash of the key modulo the
+// partition count, so raising `partitions` moves existing keys to new partitions and per-key ordering only holds
+// for events published after the change.
+@ConfigurationProperties(prefix = "events.publishing")
+public record EventPublishingProperties(Map<String, Topic> topics) {
+
+    public EventPublishingProperties {
+        if (topics == null) {
+            topics = Map.of();
+        }
+    }
+
+    public record Topic(int partitions, short replicas) {
+
+        public Topic {
+            if (partitions <= 0) {
+                partitions = 3;
+            }
+            if (replicas <= 0) {
+                replicas = 1;
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.vehicle.events.publishing;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Publishes the rows a service writes to event_outbox in the same transaction as the change they describe. A batch
+// is claimed by stamping locked_until in a short transaction, sent with no transaction open, and then deleted, or
+// released for the next run if the broker did not acknowledge it. Claiming skips rows another relay has locked or
+// leased; the lease runs for twice the send timeout, so rows left behind by a relay that died become claimable again.
+// Per-key order across batches only holds with one relay per database.
+@Slf4j
+public class OutboxRelay {
+    private static final String CLAIM_SQL = "select id, topic, message_key, payload from event_outbox "
+            + "where locked_until is null or locked_until < ? order by id fetch first ? rows only "
+            + "for update skip locked";
+    private static final String LEASE_SQL = "update event_outbox set locked_until = ? where id = ?";
+    private static final String DELETE_SQL = "delete from event_outbox where id = ?";
+    private static final String RELEASE_SQL = "update event_outbox set locked_until = null where id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EventPublisher eventPublisher;
+    private final int batchSize;
+    private final Duration sendTimeout;
+
+    public OutboxRelay(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                       EventPublisher eventPublisher, int batchSize, Duration sendTimeout) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.sendTimeout = sendTimeout;
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:200}")
+    public void relay() {
+        List<OutboxRow> batch = transactionTemplate.execute(status -> claim());
+        if (batch == null || batch.isEmpty()) {
+            return;
+        }
+
+        List<OutboxRow> delivered = eventPublisher.publish(batch,
+                row -> new ProducerRecord<>(row.topic(), row.messageKey(), row.payload()), sendTimeout);
+        Set<Long> deliveredIds = delivered.stream().map(OutboxRow::id).collect(Collectors.toSet());
+        List<OutboxRow> undelivered = batch.stream().filter(row -> !deliveredIds.contains(row.id())).toList();
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(DELETE_SQL, delivered, delivered.size(), (ps, row) -> ps.setLong(1, row.id()));
+            jdbcTemplate.batchUpdate(RELEASE_SQL, undelivered, undelivered.size(),
+                    (ps, row) -> ps.setLong(1, row.id()));
+        });
+        log.info("Relayed {} of {} outbox events", delivered.size(), batch.size());
+    }
+
+    private List<OutboxRow> claim() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxRow> batch = jdbcTemplate.query(CLAIM_SQL,
+                (rs, rowNum) -> new OutboxRow(rs.getLong("id"), rs.getString("topic"), rs.getString("message_key"),
+                        rs.getBytes("payload")),
+                Timestamp.valueOf(now), batchSize);
+        Timestamp lockedUntil = Timestamp.valueOf(now.plus(sendTimeout.multipliedBy(2)));
+        jdbcTemplate.batchUpdate(LEASE_SQL, batch, batch.size(), (ps, row) -> {
+            ps.setTimestamp(1, lockedUntil);
+            ps.setLong(2, row.id());
+        });
+        return batch;
+    }
+
+    private record OutboxRow(long id, String topic, String messageKey, byte[] payload) {}
+}
@@ -0,0 +1,31 @@
+package com.vehicle.events.publishing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+// One relay for every service with an event_outbox table; outbox.relay.enabled=false turns it off
+@AutoConfiguration(after = {EventPublishingAutoConfiguration.class, JdbcTemplateAutoConfiguration.class,
+        TransactionAutoConfiguration.class})
+@ConditionalOnClass(JdbcTemplate.class)
+@ConditionalOnBean({JdbcTemplate.class, TransactionTemplate.class, EventPublisher.class})
+@ConditionalOnProperty(name = "outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelayAutoConfiguration {
+
+    @Bean
+    public OutboxRelay outboxRelay(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                   EventPublisher eventPublisher,
+                                   @Value("${outbox.relay.batch-size:500}") int batchSize,
+                                   @Value("${outbox.relay.send-timeout:30s}") Duration sendTimeout) {
+        return new OutboxRelay(jdbcTemplate, transactionTemplate, eventPublisher, batchSize, sendTimeout);
+    }
+}
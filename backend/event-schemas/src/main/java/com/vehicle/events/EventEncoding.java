@@ -0,0 +1,7 @@
+package com.vehicle.events;
+
+// Wire format for event payloads; consumers accept both, so producers can be switched one at a time
+public enum EventEncoding {
+    JSON,
+    AVRO
+}
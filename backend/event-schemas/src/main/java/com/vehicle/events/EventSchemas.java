@@ -0,0 +1,118 @@
+package com.vehicle.events;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.message.BinaryMessageDecoder;
+import org.apache.avro.message.BinaryMessageEncoder;
+import org.apache.avro.message.MissingSchemaException;
+import org.apache.avro.message.SchemaStore;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// File-based stand-in for a schema registry. Every version of every event schema lives in event-schemas/ on the
+// classpath and is indexed by its 64-bit Avro fingerprint. Payloads use Avro single-object encoding (two marker
+// bytes, the writer schema's fingerprint, then the binary record), so a reader finds the writer schema without a
+// registry round trip and resolves it against the newest version it knows.
+public final class EventSchemas {
+    // Oldest first; a new version of a schema is added as a new file after the ones it replaces
+    private static final List<String> FILES = List.of(
+            "VehicleEvent-v1.avsc",
+            "VehicleStatusChanged-v1.avsc",
+            "ProductionEvent-v1.avsc",
+            "ProductionStageChanged-v1.avsc");
+
+    private static final SchemaStore.Cache REGISTRY = new SchemaStore.Cache();
+    private static final Map<String, Schema> LATEST = new HashMap<>();
+    private static final Map<Schema, BinaryMessageEncoder<GenericRecord>> ENCODERS = new ConcurrentHashMap<>();
+    private static final Map<Schema, BinaryMessageDecoder<GenericRecord>> DECODERS = new ConcurrentHashMap<>();
+
+    static {
+        for (String file : FILES) {
+            try (InputStream in = EventSchemas.class.getResourceAsStream("/event-schemas/" + file)) {
+                if (in == null) {
+                    throw new IllegalStateException("Missing event schema " + file);
+                }
+                Schema schema = new Schema.Parser().parse(in);
+                REGISTRY.addSchema(schema);
+                LATEST.put(schema.getFullName(), schema);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unreadable event schema " + file, e);
+            }
+        }
+    }
+
+    public static final Schema VEHICLE_EVENT = latest("com.vehicle.events.VehicleEvent");
+    public static final Schema VEHICLE_STATUS_CHANGED = latest("com.vehicle.events.VehicleStatusChanged");
+    public static final Schema PRODUCTION_EVENT = latest("com.vehicle.events.ProductionEvent");
+    public static final Schema PRODUCTION_STAGE_CHANGED = latest("com.vehicle.events.ProductionStageChanged");
+
+    private EventSchemas() {
+    }
+
+    public static Schema latest(String fullName) {
+        Schema schema = LATEST.get(fullName);
+        if (schema == null) {
+            throw new IllegalArgumentException("Unknown event schema " + fullName);
+        }
+        return schema;
+    }
+
+    public static byte[] encode(GenericRecord record) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        try {
+            ENCODERS.computeIfAbsent(record.getSchema(),
+                    schema -> new BinaryMessageEncoder<>(GenericData.get(), schema)).encode(record, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    // The returned record has the newest known shape of whatever schema the payload was written with
+    public static GenericRecord decode(byte[] payload) throws IOException {
+        if (!isAvro(payload)) {
+            throw new IOException("Payload is not Avro single-object encoded");
+        }
+        long fingerprint = ByteBuffer.wrap(payload, 2, 8).order(ByteOrder.LITTLE_ENDIAN).getLong();
+        Schema writer = REGISTRY.findByFingerprint(fingerprint);
+        if (writer == null) {
+            throw new MissingSchemaException("No event schema with fingerprint " + Long.toHexString(fingerprint));
+        }
+        Schema reader = LATEST.get(writer.getFullName());
+        return DECODERS.computeIfAbsent(reader,
+                schema -> new BinaryMessageDecoder<>(GenericData.get(), schema, REGISTRY)).decode(payload);
+    }
+
+    // JSON payloads start with '{', so the single-object marker tells the two encodings apart
+    public static boolean isAvro(byte[] payload) {
+        return payload != null && payload.length >= 10 && payload[0] == (byte) 0xC3 && payload[1] == (byte) 0x01;
+    }
+
+    // local-timestamp-millis: the wall-clock time as if it were UTC, matching the services' LocalDateTime columns
+    public static Long toMillis(LocalDateTime time) {
+        return time == null ? null : time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    public static LocalDateTime fromMillis(Object millis) {
+        return millis == null ? null : LocalDateTime.ofInstant(Instant.ofEpochMilli((Long) millis), ZoneOffset.UTC);
+    }
+
+    // Avro hands strings back as Utf8
+    public static String string(GenericRecord record, String field) {
+        Object value = record.get(field);
+        return value == null ? null : value.toString();
+    }
+}
@@ -1,8 +1,15 @@
 package com.vehicle.inventory.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.vehicle.common.web.ETags;
+import com.vehicle.inventory.dto.ReservationRequest;
+import com.vehicle.inventory.dto.StockStatusChanges;
 import com.vehicle.inventory.model.InventoryItem;
+import com.vehicle.inventory.model.StockReservation;
 import com.vehicle.inventory.service.InventoryService;
+import com.vehicle.inventory.service.StockReservationService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -12,9 +19,12 @@ import java.util.List;
 @RestController
 @RequestMapping("/api/inventory")
 @RequiredArgsConstructor
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = "ETag")
 public class InventoryController {
     private final InventoryService inventoryService;
+    private final StockReservationService reservationService;
+
+    private static final String MERGE_PATCH = "application/merge-patch+json";
 
     @PostMapping
     public ResponseEntity<InventoryItem> createItem(@RequestBody InventoryItem item) {
@@ -30,31 +40,49 @@ public class InventoryController {
     @GetMapping("/{id}")
     public ResponseEntity<InventoryItem> getItemById(@PathVariable Long id) {
         return inventoryService.getItemById(id)
-                .map(ResponseEntity::ok)
+                .map(item -> ETags.ok(item, item.getVersion()))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/part/{partNumber}")
     public ResponseEntity<InventoryItem> getItemByPartNumber(@PathVariable String partNumber) {
         return inventoryService.getItemByPartNumber(partNumber)
-                .map(ResponseEntity::ok)
+                .map(item -> ETags.ok(item, item.getVersion()))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/low-stock")
-    public ResponseEntity<List<InventoryItem>> getLowStockItems() {
-        return ResponseEntity.ok(inventoryService.getLowStockItems());
+    public ResponseEntity<List<InventoryItem>> getLowStockItems(@RequestParam(required = false) String category) {
+        return ResponseEntity.ok(inventoryService.getLowStockItems(category));
     }
 
     @GetMapping("/out-of-stock")
-    public ResponseEntity<List<InventoryItem>> getOutOfStockItems() {
-        return ResponseEntity.ok(inventoryService.getOutOfStockItems());
+    public ResponseEntity<List<InventoryItem>> getOutOfStockItems(@RequestParam(required = false) String category) {
+        return ResponseEntity.ok(inventoryService.getOutOfStockItems(category));
+    }
+
+    @GetMapping("/status-changes")
+    public ResponseEntity<StockStatusChanges> getStatusChanges(@RequestParam(required = false) Long since,
+                                                               @RequestParam(required = false) String category) {
+        return ResponseEntity.ok(inventoryService.getStatusChanges(since, category));
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<InventoryItem> updateItem(@PathVariable Long id,
-                                                     @RequestBody InventoryItem item) {
-        return ResponseEntity.ok(inventoryService.updateItem(id, item));
+    public ResponseEntity<InventoryItem> updateItem(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody InventoryItem item) {
+        InventoryItem updated = inventoryService.updateItem(id, item, ETags.expectedVersion(ifMatch));
+        return ETags.ok(updated, updated.getVersion());
+    }
+
+    @PatchMapping(value = "/{id}", consumes = MERGE_PATCH)
+    public ResponseEntity<InventoryItem> patchItem(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody JsonNode patch) {
+        InventoryItem updated = inventoryService.patchItem(id, patch, ETags.expectedVersion(ifMatch));
+        return ETags.ok(updated, updated.getVersion());
     }
 
     @PatchMapping("/{id}/adjust-stock")
@@ -63,6 +91,29 @@ public class InventoryController {
         return ResponseEntity.ok(inventoryService.adjustStock(id, quantity));
     }
 
+    @PostMapping("/reservations")
+    public ResponseEntity<StockReservation> reserveStock(@RequestBody ReservationRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(reservationService.reserve(request));
+    }
+
+    @GetMapping("/reservations/{reservationId}")
+    public ResponseEntity<StockReservation> getReservation(@PathVariable String reservationId) {
+        return reservationService.getReservation(reservationId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/reservations/{reservationId}/commit")
+    public ResponseEntity<StockReservation> commitReservation(@PathVariable String reservationId) {
+        return ResponseEntity.ok(reservationService.commit(reservationId));
+    }
+
+    @PostMapping("/reservations/{reservationId}/release")
+    public ResponseEntity<StockReservation> releaseReservation(@PathVariable String reservationId) {
+        return ResponseEntity.ok(reservationService.release(reservationId));
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteItem(@PathVariable Long id) {
         inventoryService.deleteItem(id);
@@ -0,0 +1,5 @@
+package com.vehicle.inventory.dto;
+
+import java.util.Map;
+
+public record ReservationRequest(String reference, Map<String, Integer> items) {}
@@ -0,0 +1,11 @@
+package com.vehicle.inventory.dto;
+
+import com.vehicle.inventory.model.InventoryStatus;
+
+import java.util.List;
+
+public record StockStatusChanges(long token, boolean resync, List<Transition> changes) {
+
+    public record Transition(long sequence, Long itemId, String partNumber, String category,
+                             InventoryStatus previousStatus, InventoryStatus status, long quantity) {}
+}
@@ -1,18 +1,25 @@
 package com.vehicle.inventory.model;
 
+import com.vehicle.common.persistence.Versioned;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "inventory_items")
+@Table(name = "inventory_items", indexes = {
+        @Index(name = "idx_inventory_items_part_number", columnList = "part_number"),
+        @Index(name = "idx_inventory_items_category", columnList = "category"),
+        @Index(name = "idx_inventory_items_status", columnList = "status")
+})
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class InventoryItem {
+public class InventoryItem implements Versioned {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -35,6 +42,10 @@ public class InventoryItem {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    // Also bumped by StockLedgerWriter, whose deltas bypass JPA
+    @Version
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -0,0 +1,7 @@
+package com.vehicle.inventory.model;
+
+public enum ReservationStatus {
+    HELD,
+    COMMITTED,
+    RELEASED
+}
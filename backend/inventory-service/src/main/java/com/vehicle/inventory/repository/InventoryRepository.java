@@ -2,9 +2,14 @@ package com.vehicle.inventory.repository;
 
 import com.vehicle.inventory.model.InventoryItem;
 import com.vehicle.inventory.model.InventoryStatus;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,4 +19,9 @@ public interface InventoryRepository extends JpaRepository<InventoryItem, Long>
     List<InventoryItem> findByStatus(InventoryStatus status);
     List<InventoryItem> findByCategory(String category);
     List<InventoryItem> findByQuantityInStockLessThanEqual(Integer quantity);
+
+    // Rows are locked in id order so overlapping reservations cannot deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from InventoryItem i where i.partNumber in :partNumbers order by i.id")
+    List<InventoryItem> findAllForUpdateByPartNumbers(@Param("partNumbers") Collection<String> partNumbers);
 }
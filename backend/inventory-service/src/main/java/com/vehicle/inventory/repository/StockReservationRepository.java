@@ -0,0 +1,12 @@
+package com.vehicle.inventory.repository;
+
+import com.vehicle.inventory.model.StockReservation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
+    Optional<StockReservation> findByReservationId(String reservationId);
+}
@@ -1,5 +1,9 @@
 package com.vehicle.inventory.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vehicle.common.persistence.VersionedEntities;
+import com.vehicle.inventory.dto.StockStatusChanges;
 import com.vehicle.inventory.model.InventoryItem;
 import com.vehicle.inventory.model.InventoryStatus;
 import com.vehicle.inventory.repository.InventoryRepository;
@@ -8,20 +12,30 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class InventoryService {
     private final InventoryRepository inventoryRepository;
+    private final StockLedger stockLedger;
+    private final StockStatusIndex statusIndex;
+    private final ObjectMapper objectMapper;
+
+    private static final String ENTITY_NAME = "Inventory item";
+    // Fields a full update replaces; a merge patch may set any subset of them
+    private static final Set<String> UPDATABLE_FIELDS = Set.of("partName", "category", "description",
+            "quantityInStock", "reorderLevel", "maxStockLevel", "supplier", "unitPrice", "location");
 
     @Transactional
     public InventoryItem createItem(InventoryItem item) {
         log.info("Creating inventory item: {}", item.getPartNumber());
-        return inventoryRepository.save(item);
+        InventoryItem savedItem = inventoryRepository.save(item);
+        statusIndex.upsert(savedItem);
+        return savedItem;
     }
 
     public List<InventoryItem> getAllItems() {
@@ -36,19 +50,22 @@ public class InventoryService {
         return inventoryRepository.findByPartNumber(partNumber);
     }
 
-    public List<InventoryItem> getLowStockItems() {
-        return inventoryRepository.findByStatus(InventoryStatus.LOW_STOCK);
+    public List<InventoryItem> getLowStockItems(String category) {
+        return inventoryRepository.findAllById(statusIndex.getItemIds(InventoryStatus.LOW_STOCK, category));
+    }
+
+    public List<InventoryItem> getOutOfStockItems(String category) {
+        return inventoryRepository.findAllById(statusIndex.getItemIds(InventoryStatus.OUT_OF_STOCK, category));
     }
 
-    public List<InventoryItem> getOutOfStockItems() {
-        return inventoryRepository.findByStatus(InventoryStatus.OUT_OF_STOCK);
+    public StockStatusChanges getStatusChanges(Long since, String category) {
+        return statusIndex.changesSince(since, category);
     }
 
     @Transactional
-    public InventoryItem updateItem(Long id, InventoryItem itemDetails) {
+    public InventoryItem updateItem(Long id, InventoryItem itemDetails, Long expectedVersion) {
         log.info("Updating inventory item with ID: {}", id);
-        InventoryItem item = inventoryRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Inventory item not found with id: " + id));
+        InventoryItem item = findItem(id, expectedVersion);
 
         item.setPartName(itemDetails.getPartName());
         item.setCategory(itemDetails.getCategory());
@@ -60,26 +77,51 @@ public class InventoryService {
         item.setUnitPrice(itemDetails.getUnitPrice());
         item.setLocation(itemDetails.getLocation());
 
-        return inventoryRepository.save(item);
+        InventoryItem updatedItem = flush(item);
+        statusIndex.upsert(updatedItem);
+        return updatedItem;
     }
 
+    // JSON Merge Patch (RFC 7386): members present in the patch replace the stored values and null clears them,
+    // everything else is left as it is
     @Transactional
+    public InventoryItem patchItem(Long id, JsonNode patch, Long expectedVersion) {
+        log.info("Patching inventory item with ID: {}", id);
+        InventoryItem item = findItem(id, expectedVersion);
+        applyPatch(item, patch);
+
+        InventoryItem updatedItem = flush(item);
+        statusIndex.upsert(updatedItem);
+        return updatedItem;
+    }
+
+    // Stock adjustments are deltas that commute with each other, so they take no expected version
     public InventoryItem adjustStock(Long id, Integer quantity) {
         log.info("Adjusting stock for item ID: {} by {}", id, quantity);
-        InventoryItem item = inventoryRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Inventory item not found with id: " + id));
-
-        item.setQuantityInStock(item.getQuantityInStock() + quantity);
-        if (quantity > 0) {
-            item.setLastRestocked(LocalDateTime.now());
-        }
-
-        return inventoryRepository.save(item);
+        return stockLedger.adjust(id, quantity);
     }
 
     @Transactional
     public void deleteItem(Long id) {
         log.info("Deleting inventory item with ID: {}", id);
+        stockLedger.evict(id);
         inventoryRepository.deleteById(id);
+        statusIndex.remove(id);
+    }
+
+    // Pending ledger deltas are written first, so the version compared here already counts them. A null expected
+    // version skips the check, for clients that do not send If-Match.
+    private InventoryItem findItem(Long id, Long expectedVersion) {
+        stockLedger.evict(id);
+        return VersionedEntities.find(inventoryRepository, ENTITY_NAME, id, expectedVersion);
+    }
+
+    private void applyPatch(InventoryItem item, JsonNode patch) {
+        VersionedEntities.applyPatch(objectMapper, item, patch, UPDATABLE_FIELDS);
+    }
+
+    // A ledger flush that raced this write bumped the version too, so it surfaces as a conflict as well
+    private InventoryItem flush(InventoryItem item) {
+        return VersionedEntities.flush(inventoryRepository, ENTITY_NAME, item);
     }
 }
@@ -0,0 +1,308 @@
+package com.vehicle.inventory.service;
+
+import com.vehicle.inventory.model.InventoryItem;
+import com.vehicle.inventory.model.InventoryStatus;
+import com.vehicle.inventory.repository.InventoryRepository;
+import com.vehicle.inventory.service.StockLedgerWriter.StockDelta;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToLongFunction;
+
+@Component
+@Slf4j
+public class StockLedger {
+    private final InventoryRepository inventoryRepository;
+    private final StockLedgerWriter ledgerWriter;
+    private final StockStatusIndex statusIndex;
+    // Ledger writes commit on their own, so a caller that rolls back cannot take buffered deltas with it
+    private final TransactionTemplate ledgerTransaction;
+
+    private final ConcurrentHashMap<Long, StockCounter> counters = new ConcurrentHashMap<>();
+    // Deltas taken out of their counter whose write has not committed yet. Moving a delta between a counter and
+    // this map happens inside compute on the item's key, so unwritten() never sees it in both places or in neither.
+    private final ConcurrentHashMap<Long, Long> inFlight = new ConcurrentHashMap<>();
+
+    public StockLedger(InventoryRepository inventoryRepository, StockLedgerWriter ledgerWriter,
+                       StockStatusIndex statusIndex, PlatformTransactionManager transactionManager) {
+        this.inventoryRepository = inventoryRepository;
+        this.ledgerWriter = ledgerWriter;
+        this.statusIndex = statusIndex;
+        this.ledgerTransaction = new TransactionTemplate(transactionManager);
+        this.ledgerTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public InventoryItem adjust(Long id, int quantity) {
+        while (true) {
+            StockCounter counter = counters.computeIfAbsent(id, this::load);
+            long newQuantity = counter.add(quantity);
+            if (newQuantity != StockCounter.RETIRED) {
+                statusIndex.applyDelta(id, quantity);
+                return counter.view(newQuantity);
+            }
+            // The counter was evicted between lookup and update, retry against a fresh one
+        }
+    }
+
+    // Must not be called while holding the item's row lock, since the write runs in a transaction of its own
+    public void evict(Long id) {
+        StockCounter[] evicted = new StockCounter[1];
+        long delta = takeInFlight(id, counter -> {
+            counters.remove(id, counter);
+            evicted[0] = counter;
+            return counter.retire();
+        });
+        if (delta != 0) {
+            write(List.of(evicted[0].delta(delta)), Map.of(id, evicted[0]));
+        }
+    }
+
+    // Stock changes accepted here but not yet committed to inventory_items, per item. Called with the rows locked: a
+    // write that commits later is still counted here, and one that already committed is in the table.
+    public Map<Long, Long> unwritten(Collection<Long> ids) {
+        Map<Long, Long> unwritten = new HashMap<>();
+        for (Long id : ids) {
+            long[] sum = new long[1];
+            inFlight.compute(id, (key, writing) -> {
+                StockCounter counter = counters.get(id);
+                sum[0] = (writing == null ? 0 : writing) + (counter == null ? 0 : counter.pending());
+                return writing;
+            });
+            if (sum[0] != 0) {
+                unwritten.put(id, sum[0]);
+            }
+        }
+        return unwritten;
+    }
+
+    // Keeps cached quantities in line with stock changes written directly to the database
+    public void applyCommitted(Map<Long, Integer> deltasById) {
+        Runnable apply = () -> deltasById.forEach((id, delta) -> {
+            StockCounter counter = counters.get(id);
+            if (counter != null) {
+                counter.quantity.addAndGet(delta);
+            }
+            statusIndex.applyDelta(id, delta);
+        });
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.ledger.flush-interval-ms:100}")
+    public void flush() {
+        List<StockDelta> deltas = new ArrayList<>();
+        Map<Long, StockCounter> sources = new HashMap<>();
+        counters.forEach((id, counter) -> {
+            StockCounter[] drained = new StockCounter[1];
+            long delta = takeInFlight(id, live -> {
+                drained[0] = live;
+                return live.drain();
+            });
+            if (delta != 0) {
+                deltas.add(drained[0].delta(delta));
+                sources.put(id, drained[0]);
+            }
+        });
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        try {
+            write(deltas, sources);
+            log.debug("Flushed {} stock deltas", deltas.size());
+        } catch (RuntimeException e) {
+            log.error("Failed to flush {} stock deltas, will retry", deltas.size(), e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    // Takes a delta out of the item's live counter and marks it in flight in one step
+    private long takeInFlight(Long id, ToLongFunction<StockCounter> take) {
+        long[] taken = new long[1];
+        inFlight.compute(id, (key, writing) -> {
+            StockCounter counter = counters.get(id);
+            taken[0] = counter == null ? 0 : take.applyAsLong(counter);
+            return plus(writing, taken[0]);
+        });
+        return taken[0];
+    }
+
+    // Deltas leave the in-flight map just before their transaction commits, while it still holds the row locks, so a
+    // guarded write that locks the rows next finds them in the table instead. A failed write hands them back to the
+    // live counter to be retried by the next flush. When the counter a delta came from has been evicted, by this
+    // write or by one racing a flush, a successor carrying its state takes the delta instead.
+    private void write(List<StockDelta> deltas, Map<Long, StockCounter> sources) {
+        AtomicBoolean landed = new AtomicBoolean();
+        try {
+            ledgerTransaction.executeWithoutResult(status -> {
+                ledgerWriter.write(deltas);
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void beforeCommit(boolean readOnly) {
+                        deltas.forEach(delta -> inFlight.compute(delta.itemId(),
+                                (key, writing) -> plus(writing, -delta.delta())));
+                        landed.set(true);
+                    }
+                });
+            });
+        } catch (RuntimeException e) {
+            deltas.forEach(delta -> inFlight.compute(delta.itemId(), (key, writing) -> {
+                counters.compute(key, (id, live) -> restore(live, sources.get(id), delta.delta()));
+                return landed.get() ? writing : plus(writing, -delta.delta());
+            }));
+            throw e;
+        }
+    }
+
+    // Runs under the item's in-flight entry, which eviction also takes, so a counter still in the map is not retired
+    private static StockCounter restore(StockCounter live, StockCounter source, long delta) {
+        if (live != null) {
+            // A counter loaded after source was evicted read a quantity the failed write never reached
+            if (live.restore(delta, live != source)) {
+                return live;
+            }
+            log.warn("Replacing retired stock counter for item ID: {}", source.template.getId());
+        }
+        return source.successor(delta);
+    }
+
+    private static Long plus(Long writing, long delta) {
+        long sum = (writing == null ? 0 : writing) + delta;
+        return sum == 0 ? null : sum;
+    }
+
+    private StockCounter load(Long id) {
+        InventoryItem item = inventoryRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Inventory item not found with id: " + id));
+        return new StockCounter(item);
+    }
+
+    static InventoryStatus statusFor(long quantity, Integer reorderLevel) {
+        if (quantity <= 0) {
+            return InventoryStatus.OUT_OF_STOCK;
+        } else if (reorderLevel != null && quantity <= reorderLevel) {
+            return InventoryStatus.LOW_STOCK;
+        }
+        return InventoryStatus.IN_STOCK;
+    }
+
+    static final class StockCounter {
+        static final long RETIRED = Long.MIN_VALUE;
+
+        private final InventoryItem template;
+        private final AtomicLong quantity;
+        // Delta not yet written to the database, RETIRED once the counter has been evicted
+        private final AtomicLong pending = new AtomicLong();
+        private volatile LocalDateTime lastRestocked;
+
+        StockCounter(InventoryItem template) {
+            this(template, template.getQuantityInStock() == null ? 0 : template.getQuantityInStock(),
+                    template.getLastRestocked());
+        }
+
+        private StockCounter(InventoryItem template, long quantity, LocalDateTime lastRestocked) {
+            this.template = template;
+            this.quantity = new AtomicLong(quantity);
+            this.lastRestocked = lastRestocked;
+        }
+
+        long add(int delta) {
+            long current;
+            do {
+                current = pending.get();
+                if (current == RETIRED) {
+                    return RETIRED;
+                }
+            } while (!pending.compareAndSet(current, current + delta));
+
+            if (delta > 0) {
+                lastRestocked = LocalDateTime.now();
+            }
+            return quantity.addAndGet(delta);
+        }
+
+        long pending() {
+            long current = pending.get();
+            return current == RETIRED ? 0 : current;
+        }
+
+        long drain() {
+            long current;
+            do {
+                current = pending.get();
+                if (current == RETIRED) {
+                    return 0;
+                }
+            } while (!pending.compareAndSet(current, 0));
+            return current;
+        }
+
+        boolean restore(long delta, boolean uncounted) {
+            long current;
+            do {
+                current = pending.get();
+                if (current == RETIRED) {
+                    return false;
+                }
+            } while (!pending.compareAndSet(current, current + delta));
+            if (uncounted) {
+                quantity.addAndGet(delta);
+            }
+            return true;
+        }
+
+        // Takes over from this counter once it has been evicted, with delta still to be written. The quantity
+        // already counts it.
+        StockCounter successor(long delta) {
+            StockCounter successor = new StockCounter(template, quantity.get(), lastRestocked);
+            successor.pending.set(delta);
+            return successor;
+        }
+
+        long retire() {
+            return pending.getAndSet(RETIRED);
+        }
+
+        StockDelta delta(long delta) {
+            return new StockDelta(template.getId(), delta, lastRestocked);
+        }
+
+        InventoryItem view(long currentQuantity) {
+            InventoryItem item = new InventoryItem();
+            BeanUtils.copyProperties(template, item);
+            item.setQuantityInStock((int) currentQuantity);
+            item.setStatus(statusFor(currentQuantity, template.getReorderLevel()));
+            item.setLastRestocked(lastRestocked);
+            return item;
+        }
+    }
+}
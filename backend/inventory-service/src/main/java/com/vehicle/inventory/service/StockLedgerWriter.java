@@ -0,0 +1,76 @@
+package com.vehicle.inventory.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@RequiredArgsConstructor
+public class StockLedgerWriter {
+    private final JdbcTemplate jdbcTemplate;
+
+    // Status is derived from the new quantity in the same statement, mirroring InventoryItem.updateStatus. The row
+    // version is bumped so a full update based on an earlier read cannot overwrite the new quantity.
+    private static final String APPLY_DELTA_SQL =
+            "UPDATE inventory_items SET quantity_in_stock = quantity_in_stock + ?, "
+                    + "status = CASE WHEN quantity_in_stock + ? <= 0 THEN 'OUT_OF_STOCK' "
+                    + "WHEN quantity_in_stock + ? <= reorder_level THEN 'LOW_STOCK' ELSE 'IN_STOCK' END, "
+                    + "updated_at = ?, last_restocked = COALESCE(?, last_restocked), version = version + 1 "
+                    + "WHERE id = ?";
+
+    private static final String APPLY_GUARDED_DELTA_SQL = APPLY_DELTA_SQL + " AND quantity_in_stock + ? >= 0";
+
+    @Transactional
+    public void write(List<StockDelta> deltas) {
+        // Apply in id order so concurrent writers always lock rows in the same sequence
+        List<StockDelta> ordered = deltas.stream()
+                .sorted(Comparator.comparing(StockDelta::itemId))
+                .toList();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(APPLY_DELTA_SQL, ordered, ordered.size(), (ps, delta) -> {
+            ps.setLong(1, delta.delta());
+            ps.setLong(2, delta.delta());
+            ps.setLong(3, delta.delta());
+            ps.setTimestamp(4, now);
+            ps.setTimestamp(5, delta.lastRestocked() == null ? null : Timestamp.valueOf(delta.lastRestocked()));
+            ps.setLong(6, delta.itemId());
+        });
+    }
+
+    // Applies all deltas in one batch and returns the ids whose stock would have gone negative. The check counts the
+    // ledger's unwritten deltas as well, since the stored quantity alone does not include them yet.
+    @Transactional
+    public List<Long> writeGuarded(Map<Long, Integer> deltasById, Map<Long, Long> unwrittenById) {
+        List<Map.Entry<Long, Integer>> ordered = deltasById.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .toList();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int[][] counts = jdbcTemplate.batchUpdate(APPLY_GUARDED_DELTA_SQL, ordered, ordered.size(), (ps, entry) -> {
+            ps.setLong(1, entry.getValue());
+            ps.setLong(2, entry.getValue());
+            ps.setLong(3, entry.getValue());
+            ps.setTimestamp(4, now);
+            ps.setTimestamp(5, null);
+            ps.setLong(6, entry.getKey());
+            ps.setLong(7, entry.getValue() + unwrittenById.getOrDefault(entry.getKey(), 0L));
+        });
+
+        List<Long> rejected = new ArrayList<>();
+        for (int i = 0; i < ordered.size(); i++) {
+            if (counts[0][i] == 0) {
+                rejected.add(ordered.get(i).getKey());
+            }
+        }
+        return rejected;
+    }
+
+    public record StockDelta(Long itemId, long delta, LocalDateTime lastRestocked) {}
+}
@@ -0,0 +1,111 @@
+package com.vehicle.inventory.service;
+
+import com.vehicle.inventory.dto.ReservationRequest;
+import com.vehicle.inventory.exception.StockReservationException;
+import com.vehicle.inventory.model.InventoryItem;
+import com.vehicle.inventory.model.ReservationStatus;
+import com.vehicle.inventory.model.StockReservation;
+import com.vehicle.inventory.repository.InventoryRepository;
+import com.vehicle.inventory.repository.StockReservationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StockReservationService {
+    private final InventoryRepository inventoryRepository;
+    private final StockReservationRepository reservationRepository;
+    private final StockLedgerWriter ledgerWriter;
+    private final StockLedger stockLedger;
+
+    @Transactional
+    public StockReservation reserve(ReservationRequest request) {
+        Map<String, Integer> items = request.items();
+        if (items == null || items.isEmpty()) {
+            throw new StockReservationException("Reservation must contain at least one part");
+        }
+        items.forEach((partNumber, quantity) -> {
+            if (quantity == null || quantity <= 0) {
+                throw new StockReservationException("Invalid quantity for part " + partNumber + ": " + quantity);
+            }
+        });
+        log.info("Reserving {} parts for {}", items.size(), request.reference());
+
+        applyToStock(items, -1);
+
+        StockReservation reservation = new StockReservation();
+        reservation.setReservationId(UUID.randomUUID().toString());
+        reservation.setReference(request.reference());
+        reservation.setItems(new HashMap<>(items));
+        reservation.setStatus(ReservationStatus.HELD);
+        return reservationRepository.save(reservation);
+    }
+
+    @Transactional
+    public StockReservation commit(String reservationId) {
+        log.info("Committing stock reservation: {}", reservationId);
+        StockReservation reservation = getHeldReservation(reservationId);
+        reservation.setStatus(ReservationStatus.COMMITTED);
+        return reservationRepository.save(reservation);
+    }
+
+    @Transactional
+    public StockReservation release(String reservationId) {
+        log.info("Releasing stock reservation: {}", reservationId);
+        StockReservation reservation = getHeldReservation(reservationId);
+        applyToStock(reservation.getItems(), 1);
+        reservation.setStatus(ReservationStatus.RELEASED);
+        return reservationRepository.save(reservation);
+    }
+
+    public Optional<StockReservation> getReservation(String reservationId) {
+        return reservationRepository.findByReservationId(reservationId);
+    }
+
+    private StockReservation getHeldReservation(String reservationId) {
+        StockReservation reservation = reservationRepository.findByReservationId(reservationId)
+                .orElseThrow(() -> new RuntimeException("Stock reservation not found with id: " + reservationId));
+        if (reservation.getStatus() != ReservationStatus.HELD) {
+            throw new StockReservationException("Reservation " + reservationId + " is already " + reservation.getStatus());
+        }
+        return reservation;
+    }
+
+    private void applyToStock(Map<String, Integer> quantitiesByPart, int sign) {
+        List<InventoryItem> parts = inventoryRepository.findAllForUpdateByPartNumbers(quantitiesByPart.keySet());
+        if (parts.size() != quantitiesByPart.size()) {
+            Set<String> found = parts.stream().map(InventoryItem::getPartNumber).collect(Collectors.toSet());
+            Set<String> missing = quantitiesByPart.keySet().stream()
+                    .filter(partNumber -> !found.contains(partNumber))
+                    .collect(Collectors.toSet());
+            throw new StockReservationException("Unknown parts: " + missing);
+        }
+
+        Map<Long, Integer> deltasById = new HashMap<>();
+        Map<Long, String> partNumbersById = new HashMap<>();
+        for (InventoryItem part : parts) {
+            deltasById.put(part.getId(), sign * quantitiesByPart.get(part.getPartNumber()));
+            partNumbersById.put(part.getId(), part.getPartNumber());
+        }
+
+        // The rows are locked, so the ledger cannot commit anything for these parts until this transaction ends
+        List<Long> rejected = ledgerWriter.writeGuarded(deltasById, stockLedger.unwritten(deltasById.keySet()));
+        if (!rejected.isEmpty()) {
+            // Rolls back the whole batch, no part is reserved unless all of them are
+            throw new StockReservationException("Insufficient stock for parts: "
+                    + rejected.stream().map(partNumbersById::get).toList());
+        }
+        stockLedger.applyCommitted(deltasById);
+    }
+}
@@ -0,0 +1,153 @@
+package com.vehicle.inventory.service;
+
+import com.vehicle.inventory.dto.StockStatusChanges;
+import com.vehicle.inventory.dto.StockStatusChanges.Transition;
+import com.vehicle.inventory.model.InventoryItem;
+import com.vehicle.inventory.model.InventoryStatus;
+import com.vehicle.inventory.repository.InventoryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+@Component
+@Slf4j
+public class StockStatusIndex {
+    private final InventoryRepository inventoryRepository;
+    private final int changeLogCapacity;
+
+    private final ConcurrentHashMap<Long, PartState> parts = new ConcurrentHashMap<>();
+    private final Map<InventoryStatus, Set<Long>> byStatus = new EnumMap<>(InventoryStatus.class);
+    private final ConcurrentHashMap<String, Set<Long>> byCategory = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Long, Transition> changeLog = new ConcurrentSkipListMap<>();
+    private long sequence;
+
+    public StockStatusIndex(InventoryRepository inventoryRepository,
+                            @Value("${inventory.status-index.change-log-capacity:100000}") int changeLogCapacity) {
+        this.inventoryRepository = inventoryRepository;
+        this.changeLogCapacity = changeLogCapacity;
+        for (InventoryStatus status : InventoryStatus.values()) {
+            byStatus.put(status, ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<InventoryItem> items = inventoryRepository.findAll();
+        items.forEach(this::upsert);
+        log.info("Indexed stock status for {} parts", items.size());
+    }
+
+    public void upsert(InventoryItem item) {
+        long quantity = item.getQuantityInStock() == null ? 0 : item.getQuantityInStock();
+        parts.compute(item.getId(), (id, previous) -> {
+            PartState next = new PartState(id, item.getPartNumber(), item.getCategory(), quantity, item.getReorderLevel(),
+                    StockLedger.statusFor(quantity, item.getReorderLevel()));
+            if (previous != null && previous.category() != null && !previous.category().equals(next.category())) {
+                byCategory.getOrDefault(previous.category(), Set.of()).remove(id);
+            }
+            if (next.category() != null) {
+                byCategory.computeIfAbsent(next.category(), category -> ConcurrentHashMap.newKeySet()).add(id);
+            }
+            transition(previous, next);
+            return next;
+        });
+    }
+
+    public void applyDelta(Long id, long delta) {
+        parts.computeIfPresent(id, (key, previous) -> {
+            long quantity = previous.quantity() + delta;
+            PartState next = new PartState(key, previous.partNumber(), previous.category(), quantity,
+                    previous.reorderLevel(), StockLedger.statusFor(quantity, previous.reorderLevel()));
+            transition(previous, next);
+            return next;
+        });
+    }
+
+    public void remove(Long id) {
+        PartState previous = parts.remove(id);
+        if (previous != null) {
+            byStatus.get(previous.status()).remove(id);
+            if (previous.category() != null) {
+                byCategory.getOrDefault(previous.category(), Set.of()).remove(id);
+            }
+        }
+    }
+
+    public List<Long> getItemIds(InventoryStatus status, String category) {
+        Set<Long> withStatus = byStatus.get(status);
+        if (category == null) {
+            return new ArrayList<>(withStatus);
+        }
+        Set<Long> inCategory = byCategory.getOrDefault(category, Set.of());
+        Set<Long> smaller = inCategory.size() < withStatus.size() ? inCategory : withStatus;
+        Set<Long> larger = smaller == inCategory ? withStatus : inCategory;
+        return smaller.stream().filter(larger::contains).toList();
+    }
+
+    public StockStatusChanges changesSince(Long token, String category) {
+        long latest;
+        synchronized (changeLog) {
+            latest = sequence;
+        }
+        Map.Entry<Long, Transition> oldest = changeLog.firstEntry();
+        boolean expired = token == null || token > latest || (oldest != null && token < oldest.getKey() - 1);
+        if (expired) {
+            return new StockStatusChanges(latest, true, snapshot(category));
+        }
+        List<Transition> changes = changeLog.subMap(token, false, latest, true).values().stream()
+                .filter(change -> category == null || category.equals(change.category()))
+                .toList();
+        return new StockStatusChanges(latest, false, changes);
+    }
+
+    private List<Transition> snapshot(String category) {
+        List<Transition> current = new ArrayList<>();
+        for (InventoryStatus status : List.of(InventoryStatus.LOW_STOCK, InventoryStatus.OUT_OF_STOCK)) {
+            for (Long id : getItemIds(status, category)) {
+                PartState part = parts.get(id);
+                if (part != null) {
+                    current.add(new Transition(0, id, part.partNumber(), part.category(), null, part.status(), part.quantity()));
+                }
+            }
+        }
+        return current;
+    }
+
+    // Called inside parts.compute so transitions of one part are recorded in order
+    private void transition(PartState previous, PartState next) {
+        InventoryStatus previousStatus = previous == null ? null : previous.status();
+        if (previousStatus == next.status()) {
+            return;
+        }
+        if (previousStatus != null) {
+            byStatus.get(previousStatus).remove(next.itemId());
+        }
+        byStatus.get(next.status()).add(next.itemId());
+
+        // Sequence and log entry are published together so a reader never skips a pending sequence
+        synchronized (changeLog) {
+            long seq = ++sequence;
+            changeLog.put(seq, new Transition(seq, next.itemId(), next.partNumber(), next.category(),
+                    previousStatus, next.status(), next.quantity()));
+            if (seq > changeLogCapacity) {
+                changeLog.headMap(seq - changeLogCapacity, true).clear();
+            }
+        }
+        if (previousStatus != null) {
+            log.info("Part {} moved from {} to {}", next.partNumber(), previousStatus, next.status());
+        }
+    }
+
+    private record PartState(Long itemId, String partNumber, String category, long quantity,
+                             Integer reorderLevel, InventoryStatus status) {}
+}
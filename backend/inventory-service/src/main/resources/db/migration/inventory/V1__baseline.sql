@@ -0,0 +1,37 @@
+create table inventory_items (
+    id                bigint generated by default as identity primary key,
+    part_number       varchar(255),
+    part_name         varchar(255),
+    category          varchar(255),
+    description       varchar(255),
+    quantity_in_stock integer,
+    reorder_level     integer,
+    max_stock_level   integer,
+    supplier          varchar(255),
+    unit_price        double precision,
+    location          varchar(255),
+    status            varchar(32),
+    last_restocked    timestamp(6),
+    created_at        timestamp(6),
+    updated_at        timestamp(6)
+);
+
+create index idx_inventory_items_part_number on inventory_items (part_number);
+create index idx_inventory_items_category on inventory_items (category);
+create index idx_inventory_items_status on inventory_items (status);
+
+create table stock_reservations (
+    id             bigint generated by default as identity primary key,
+    reservation_id varchar(255) unique,
+    reference      varchar(255),
+    status         varchar(32),
+    created_at     timestamp(6),
+    updated_at     timestamp(6)
+);
+
+create table stock_reservation_lines (
+    reservation_id bigint       not null references stock_reservations (id),
+    part_number    varchar(255) not null,
+    quantity       integer,
+    primary key (reservation_id, part_number)
+);
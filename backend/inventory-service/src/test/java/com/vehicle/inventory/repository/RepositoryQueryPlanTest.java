@@ -0,0 +1,46 @@
+package com.vehicle.inventory.repository;
+
+import com.vehicle.common.persistence.QueryPlanGuard;
+import com.vehicle.inventory.model.InventoryStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+// Runs every finder against the Flyway schema filled with synthetic rows, so dropping an index from a migration fails
+// the build. Parts fall into 50 categories.
+@SpringBootTest(properties = {
+        "eureka.client.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:inventory-plan;DB_CLOSE_DELAY=-1",
+        QueryPlanGuard.STATEMENT_INSPECTOR})
+@ActiveProfiles("production")
+class RepositoryQueryPlanTest {
+    private static final int ROWS = 10_000;
+    private static final int MIN_ROWS = 1_000;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private InventoryRepository items;
+
+    @Test
+    void findersUseIndexes() {
+        jdbc.update("""
+                insert into inventory_items (id, part_number, part_name, category, quantity_in_stock, reorder_level,
+                                             max_stock_level, unit_price, status, created_at, updated_at,
+                                             version)
+                select x, 'PART-' || x, 'Part ' || x, 'CAT-' || mod(x, 50), mod(x, 200), 20, 500, 12.5,
+                       'LOW_STOCK', current_timestamp, current_timestamp, 0
+                from system_range(1, ?)
+                """, ROWS);
+
+        QueryPlanGuard guard = new QueryPlanGuard(jdbc, MIN_ROWS);
+        guard.check("InventoryRepository.findByPartNumber", () -> items.findByPartNumber("PART-1"), "PART-1");
+        guard.check("InventoryRepository.findByCategory", () -> items.findByCategory("CAT-1"), "CAT-1");
+        guard.check("InventoryRepository.findByStatus", () -> items.findByStatus(InventoryStatus.LOW_STOCK),
+                InventoryStatus.LOW_STOCK);
+        guard.assertNoTableScans();
+    }
+}
@@ -0,0 +1,99 @@
+package com.vehicle.inventory.service;
+
+import com.vehicle.inventory.model.InventoryItem;
+import com.vehicle.inventory.repository.InventoryRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Hammers adjustStock from many threads while the scheduled flush runs every millisecond and evictions race both, then
+// checks that every delta reached inventory_items exactly once
+@SpringBootTest(properties = {"eureka.client.enabled=false", "inventory.ledger.flush-interval-ms=1"})
+class StockLedgerConcurrencyTest {
+    private static final int ITEMS = 4;
+    private static final int THREADS = 16;
+    private static final int ADJUSTMENTS_PER_THREAD = 5_000;
+    private static final int INITIAL_STOCK = 1_000_000;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private StockLedger stockLedger;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void concurrentAdjustmentsAreAllWritten() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            ids.add(inventoryRepository.save(item("STRESS-" + i)).getId());
+        }
+        AtomicLongArray applied = new AtomicLongArray(ITEMS);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            workers.add(executor.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int n = 0; n < ADJUSTMENTS_PER_THREAD; n++) {
+                    int item = random.nextInt(ITEMS);
+                    int delta = random.nextBoolean() ? random.nextInt(1, 10) : -random.nextInt(1, 10);
+                    inventoryService.adjustStock(ids.get(item), delta);
+                    applied.addAndGet(item, delta);
+                    if (n % 250 == 0) {
+                        stockLedger.evict(ids.get(item));
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        executor.shutdown();
+        // A scheduled flush may still be committing what it drained
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        do {
+            stockLedger.flush();
+        } while (!stockLedger.unwritten(ids).isEmpty() && System.nanoTime() < deadline);
+        assertThat(stockLedger.unwritten(ids)).isEmpty();
+
+        for (int i = 0; i < ITEMS; i++) {
+            Integer stored = jdbcTemplate.queryForObject(
+                    "select quantity_in_stock from inventory_items where id = ?", Integer.class, ids.get(i));
+            assertThat(stored.longValue()).as("stock of item %d", i).isEqualTo(INITIAL_STOCK + applied.get(i));
+        }
+    }
+
+    private static InventoryItem item(String partNumber) {
+        InventoryItem item = new InventoryItem();
+        item.setPartNumber(partNumber);
+        item.setPartName("Stress part");
+        item.setCategory("TEST");
+        item.setQuantityInStock(INITIAL_STOCK);
+        item.setReorderLevel(10);
+        item.setMaxStockLevel(2 * INITIAL_STOCK);
+        return item;
+    }
+}
@@ -0,0 +1,82 @@
+package com.vehicle.inventory.service;
+
+import com.vehicle.inventory.model.InventoryItem;
+import com.vehicle.inventory.repository.InventoryRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+
+// The scheduled flush runs once at startup and then not again, so only the test decides when the ledger writes
+@SpringBootTest(properties = {"eureka.client.enabled=false", "inventory.ledger.flush-interval-ms=3600000"})
+class StockLedgerWriteFailureTest {
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private StockLedger stockLedger;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @SpyBean
+    private StockLedgerWriter ledgerWriter;
+
+    @Test
+    void failedEvictionKeepsTheDeltaForTheNextFlush() {
+        Long id = inventoryRepository.save(item("EVICT-1", 10)).getId();
+        inventoryService.adjustStock(id, -3);
+
+        doThrow(new IllegalStateException("database unavailable")).doCallRealMethod()
+                .when(ledgerWriter).write(anyList());
+        assertThatThrownBy(() -> stockLedger.evict(id)).isInstanceOf(IllegalStateException.class);
+
+        assertThat(stockLedger.unwritten(List.of(id))).containsEntry(id, -3L);
+        assertThat(inventoryService.adjustStock(id, -2).getQuantityInStock()).isEqualTo(5);
+
+        stockLedger.flush();
+        assertThat(stock(id)).isEqualTo(5);
+        assertThat(stockLedger.unwritten(List.of(id))).isEmpty();
+    }
+
+    @Test
+    void failedFlushKeepsTheDeltaForTheNextEviction() {
+        Long id = inventoryRepository.save(item("EVICT-2", 10)).getId();
+        inventoryService.adjustStock(id, 4);
+
+        doThrow(new IllegalStateException("database unavailable")).doCallRealMethod()
+                .when(ledgerWriter).write(anyList());
+        stockLedger.flush();
+        stockLedger.evict(id);
+
+        assertThat(stock(id)).isEqualTo(14);
+        assertThat(stockLedger.unwritten(List.of(id))).isEmpty();
+    }
+
+    private int stock(Long id) {
+        return jdbcTemplate.queryForObject("select quantity_in_stock from inventory_items where id = ?",
+                Integer.class, id);
+    }
+
+    private static InventoryItem item(String partNumber, int quantity) {
+        InventoryItem item = new InventoryItem();
+        item.setPartNumber(partNumber);
+        item.setPartName("Evicted part");
+        item.setCategory("TEST");
+        item.setQuantityInStock(quantity);
+        item.setReorderLevel(1);
+        item.setMaxStockLevel(100);
+        return item;
+    }
+}
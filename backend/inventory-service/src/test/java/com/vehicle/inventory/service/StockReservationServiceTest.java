@@ -0,0 +1,77 @@
+package com.vehicle.inventory.service;
+
+import com.vehicle.inventory.dto.ReservationRequest;
+import com.vehicle.inventory.exception.StockReservationException;
+import com.vehicle.inventory.model.InventoryItem;
+import com.vehicle.inventory.repository.InventoryRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// The scheduled flush runs once at startup and then not again, so adjustments stay buffered in the ledger
+@SpringBootTest(properties = {"eureka.client.enabled=false", "inventory.ledger.flush-interval-ms=3600000"})
+class StockReservationServiceTest {
+    @Autowired
+    private StockReservationService reservationService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private StockLedger stockLedger;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void reservationCountsUnflushedAdjustments() {
+        InventoryItem item = inventoryRepository.save(item("GUARD-1", 10));
+        inventoryService.adjustStock(item.getId(), -8);
+
+        assertThatThrownBy(() -> reservationService.reserve(request("GUARD-1", 5)))
+                .isInstanceOf(StockReservationException.class);
+
+        reservationService.reserve(request("GUARD-1", 2));
+        stockLedger.flush();
+        assertThat(stock(item.getId())).isZero();
+    }
+
+    @Test
+    void reservationCountsUnflushedRestocks() {
+        InventoryItem item = inventoryRepository.save(item("GUARD-2", 0));
+        inventoryService.adjustStock(item.getId(), 5);
+
+        reservationService.reserve(request("GUARD-2", 5));
+        stockLedger.flush();
+        assertThat(stock(item.getId())).isZero();
+    }
+
+    private int stock(Long id) {
+        return jdbcTemplate.queryForObject("select quantity_in_stock from inventory_items where id = ?",
+                Integer.class, id);
+    }
+
+    private static ReservationRequest request(String partNumber, int quantity) {
+        return new ReservationRequest("test", Map.of(partNumber, quantity));
+    }
+
+    private static InventoryItem item(String partNumber, int quantity) {
+        InventoryItem item = new InventoryItem();
+        item.setPartNumber(partNumber);
+        item.setPartName("Guarded part");
+        item.setCategory("TEST");
+        item.setQuantityInStock(quantity);
+        item.setReorderLevel(1);
+        item.setMaxStockLevel(100);
+        return item;
+    }
+}
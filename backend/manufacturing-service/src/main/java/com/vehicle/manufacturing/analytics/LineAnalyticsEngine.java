@@ -0,0 +1,180 @@
+package com.vehicle.manufacturing.analytics;
+
+import com.vehicle.manufacturing.dto.LineAnalytics;
+import com.vehicle.manufacturing.dto.LineAnalytics.DwellTime;
+import com.vehicle.manufacturing.model.ProductionOrder;
+import com.vehicle.manufacturing.model.ProductionStage;
+import com.vehicle.manufacturing.model.ProductionStatus;
+import com.vehicle.manufacturing.repository.ProductionOrderRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+@Component
+@Slf4j
+public class LineAnalyticsEngine {
+    private static final String UNASSIGNED = "UNASSIGNED";
+    private static final ProductionStage[] STAGES = ProductionStage.values();
+    private static final long MAX_DWELL_MILLIS = Duration.ofDays(30).toMillis();
+
+    private final ProductionOrderRepository orderRepository;
+    private final int windowBuckets;
+    private final long bucketMillis;
+
+    private final ConcurrentHashMap<String, LineStats> lines = new ConcurrentHashMap<>();
+    // Only orders still in the plant are tracked, so memory follows WIP rather than history
+    private final ConcurrentHashMap<Long, OrderPosition> positions = new ConcurrentHashMap<>();
+
+    public LineAnalyticsEngine(ProductionOrderRepository orderRepository,
+                               @Value("${manufacturing.analytics.window-buckets:12}") int windowBuckets,
+                               @Value("${manufacturing.analytics.bucket-duration:5m}") Duration bucketDuration) {
+        this.orderRepository = orderRepository;
+        this.windowBuckets = windowBuckets;
+        this.bucketMillis = bucketDuration.toMillis();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<ProductionOrder> active = orderRepository.findByCurrentStageNot(ProductionStage.COMPLETED);
+        for (ProductionOrder order : active) {
+            LocalDateTime enteredAt = order.getUpdatedAt() != null ? order.getUpdatedAt() : LocalDateTime.now();
+            apply(order.getId(), order.getAssignedLine(), order.getCurrentStage(), order.getStatus(),
+                    enteredAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+        log.info("Line analytics rebuilt from {} active production orders", active.size());
+    }
+
+    public void onOrderSaved(ProductionOrder order) {
+        Long id = order.getId();
+        String line = order.getAssignedLine();
+        ProductionStage stage = order.getCurrentStage();
+        ProductionStatus status = order.getStatus();
+        afterCommit(() -> apply(id, line, stage, status, System.currentTimeMillis()));
+    }
+
+    public void onOrderDeleted(ProductionOrder order) {
+        Long id = order.getId();
+        afterCommit(() -> apply(id, null, null, ProductionStatus.CANCELLED, System.currentTimeMillis()));
+    }
+
+    public List<LineAnalytics> getAllLines() {
+        long now = System.currentTimeMillis();
+        return lines.entrySet().stream()
+                .map(entry -> entry.getValue().snapshot(entry.getKey(), now))
+                .toList();
+    }
+
+    public Optional<LineAnalytics> getLine(String assignedLine) {
+        return Optional.ofNullable(lines.get(assignedLine))
+                .map(stats -> stats.snapshot(assignedLine, System.currentTimeMillis()));
+    }
+
+    private void apply(Long id, String assignedLine, ProductionStage stage, ProductionStatus status, long nowMillis) {
+        String line = assignedLine == null ? UNASSIGNED : assignedLine;
+        boolean leavesPlant = stage == null || stage == ProductionStage.COMPLETED
+                || status == ProductionStatus.CANCELLED;
+
+        positions.compute(id, (key, previous) -> {
+            if (previous != null) {
+                if (!leavesPlant && previous.line().equals(line) && previous.stage() == stage) {
+                    return previous;
+                }
+                LineStats previousLine = line(previous.line());
+                previousLine.wip.decrementAndGet(previous.stage().ordinal());
+                if (previous.stage() != stage) {
+                    previousLine.dwell[previous.stage().ordinal()].record(nowMillis - previous.enteredAtMillis(), nowMillis);
+                }
+                if (stage == ProductionStage.COMPLETED) {
+                    previousLine.completions.increment(nowMillis);
+                }
+            }
+            if (leavesPlant) {
+                return null;
+            }
+            line(line).wip.incrementAndGet(stage.ordinal());
+            long enteredAt = previous != null && previous.stage() == stage ? previous.enteredAtMillis() : nowMillis;
+            return new OrderPosition(line, stage, enteredAt);
+        });
+    }
+
+    private LineStats line(String line) {
+        return lines.computeIfAbsent(line, key -> new LineStats(windowBuckets, bucketMillis));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private record OrderPosition(String line, ProductionStage stage, long enteredAtMillis) {}
+
+    private static final class LineStats {
+        private final AtomicLongArray wip = new AtomicLongArray(STAGES.length);
+        private final RollingHistogram[] dwell = new RollingHistogram[STAGES.length];
+        private final RollingCounter completions;
+
+        private LineStats(int windowBuckets, long bucketMillis) {
+            for (int i = 0; i < STAGES.length; i++) {
+                dwell[i] = new RollingHistogram(windowBuckets, bucketMillis, MAX_DWELL_MILLIS);
+            }
+            completions = new RollingCounter(windowBuckets, bucketMillis);
+        }
+
+        private LineAnalytics snapshot(String line, long nowMillis) {
+            Map<ProductionStage, Long> wipByStage = new EnumMap<>(ProductionStage.class);
+            Map<ProductionStage, DwellTime> dwellByStage = new EnumMap<>(ProductionStage.class);
+            long totalWip = 0;
+            for (ProductionStage stage : STAGES) {
+                long count = wip.get(stage.ordinal());
+                wipByStage.put(stage, count);
+                totalWip += count;
+
+                Histogram histogram = dwell[stage.ordinal()].snapshot(nowMillis);
+                if (histogram.getTotalCount() > 0) {
+                    dwellByStage.put(stage, new DwellTime(histogram.getTotalCount(),
+                            toMinutes(histogram.getMean()),
+                            toMinutes(histogram.getValueAtPercentile(50)),
+                            toMinutes(histogram.getValueAtPercentile(95)),
+                            toMinutes(histogram.getMaxValue())));
+                }
+            }
+
+            long completed = completions.sum(nowMillis);
+            double throughputPerHour = completed * (double) Duration.ofHours(1).toMillis() / completions.windowMillis();
+            LocalDateTime projected = null;
+            if (throughputPerHour > 0) {
+                long millisToClear = (long) (totalWip / throughputPerHour * Duration.ofHours(1).toMillis());
+                projected = LocalDateTime.ofInstant(Instant.ofEpochMilli(nowMillis + millisToClear), ZoneId.systemDefault());
+            }
+            return new LineAnalytics(line, totalWip, wipByStage, dwellByStage, completed, throughputPerHour, projected);
+        }
+
+        private static double toMinutes(double millis) {
+            return millis / Duration.ofMinutes(1).toMillis();
+        }
+    }
+}
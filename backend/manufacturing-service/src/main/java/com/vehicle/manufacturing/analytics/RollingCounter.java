@@ -0,0 +1,41 @@
+package com.vehicle.manufacturing.analytics;
+
+import java.util.Arrays;
+
+class RollingCounter {
+    private final long[] counts;
+    private final long[] bucketEpochs;
+    private final long bucketMillis;
+
+    RollingCounter(int bucketCount, long bucketMillis) {
+        this.counts = new long[bucketCount];
+        this.bucketEpochs = new long[bucketCount];
+        this.bucketMillis = bucketMillis;
+        Arrays.fill(bucketEpochs, -1);
+    }
+
+    synchronized void increment(long nowMillis) {
+        long epoch = nowMillis / bucketMillis;
+        int index = (int) (epoch % counts.length);
+        if (bucketEpochs[index] != epoch) {
+            counts[index] = 0;
+            bucketEpochs[index] = epoch;
+        }
+        counts[index]++;
+    }
+
+    synchronized long sum(long nowMillis) {
+        long epoch = nowMillis / bucketMillis;
+        long total = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (bucketEpochs[i] > epoch - counts.length) {
+                total += counts[i];
+            }
+        }
+        return total;
+    }
+
+    long windowMillis() {
+        return bucketMillis * counts.length;
+    }
+}
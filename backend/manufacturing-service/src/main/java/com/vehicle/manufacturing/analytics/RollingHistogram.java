@@ -0,0 +1,47 @@
+package com.vehicle.manufacturing.analytics;
+
+import org.HdrHistogram.Histogram;
+
+// Fixed number of time buckets, each a fixed-size HDR histogram that is reset when its slot is reused
+class RollingHistogram {
+    private final Histogram[] buckets;
+    private final long[] bucketEpochs;
+    private final long bucketMillis;
+    private final long highestTrackableValue;
+
+    RollingHistogram(int bucketCount, long bucketMillis, long highestTrackableValue) {
+        this.buckets = new Histogram[bucketCount];
+        this.bucketEpochs = new long[bucketCount];
+        this.bucketMillis = bucketMillis;
+        this.highestTrackableValue = highestTrackableValue;
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new Histogram(highestTrackableValue, 2);
+            bucketEpochs[i] = -1;
+        }
+    }
+
+    synchronized void record(long value, long nowMillis) {
+        current(nowMillis).recordValue(Math.min(Math.max(value, 0), highestTrackableValue));
+    }
+
+    synchronized Histogram snapshot(long nowMillis) {
+        long epoch = nowMillis / bucketMillis;
+        Histogram merged = new Histogram(highestTrackableValue, 2);
+        for (int i = 0; i < buckets.length; i++) {
+            if (bucketEpochs[i] > epoch - buckets.length) {
+                merged.add(buckets[i]);
+            }
+        }
+        return merged;
+    }
+
+    private Histogram current(long nowMillis) {
+        long epoch = nowMillis / bucketMillis;
+        int index = (int) (epoch % buckets.length);
+        if (bucketEpochs[index] != epoch) {
+            buckets[index].reset();
+            bucketEpochs[index] = epoch;
+        }
+        return buckets[index];
+    }
+}
@@ -1,22 +1,33 @@
 package com.vehicle.manufacturing.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.vehicle.common.web.ETags;
+import com.vehicle.manufacturing.dto.LineAnalytics;
 import com.vehicle.manufacturing.model.ProductionOrder;
 import com.vehicle.manufacturing.model.ProductionStage;
 import com.vehicle.manufacturing.model.ProductionStatus;
 import com.vehicle.manufacturing.service.ManufacturingService;
+import com.vehicle.manufacturing.service.ProductionStageBroadcaster;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/manufacturing")
 @RequiredArgsConstructor
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = "ETag")
 public class ManufacturingController {
     private final ManufacturingService manufacturingService;
+    private final ProductionStageBroadcaster stageBroadcaster;
+
+    private static final String MERGE_PATCH = "application/merge-patch+json";
 
     @PostMapping("/orders")
     public ResponseEntity<ProductionOrder> createOrder(@RequestBody ProductionOrder order) {
@@ -29,17 +40,28 @@ public class ManufacturingController {
         return ResponseEntity.ok(manufacturingService.getAllOrders());
     }
 
+    @GetMapping(value = "/orders", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getAllOrderFields(@RequestParam List<String> fields) {
+        return ResponseEntity.ok(manufacturingService.getOrderFields(fields, Map.of()));
+    }
+
+    @GetMapping(value = "/orders/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamStageChanges(@RequestParam(required = false) String line,
+                                         @RequestParam(required = false) ProductionStage stage) {
+        return stageBroadcaster.subscribe(line, stage);
+    }
+
     @GetMapping("/orders/{id}")
     public ResponseEntity<ProductionOrder> getOrderById(@PathVariable Long id) {
         return manufacturingService.getOrderById(id)
-                .map(ResponseEntity::ok)
+                .map(order -> ETags.ok(order, order.getVersion()))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/orders/number/{orderNumber}")
     public ResponseEntity<ProductionOrder> getOrderByNumber(@PathVariable String orderNumber) {
         return manufacturingService.getOrderByNumber(orderNumber)
-                .map(ResponseEntity::ok)
+                .map(order -> ETags.ok(order, order.getVersion()))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -48,21 +70,60 @@ public class ManufacturingController {
         return ResponseEntity.ok(manufacturingService.getOrdersByStatus(status));
     }
 
+    @GetMapping(value = "/orders/status/{status}", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getOrderFieldsByStatus(@PathVariable ProductionStatus status,
+                                                                            @RequestParam List<String> fields) {
+        return ResponseEntity.ok(manufacturingService.getOrderFields(fields, Map.of("status", status)));
+    }
+
     @GetMapping("/orders/stage/{stage}")
     public ResponseEntity<List<ProductionOrder>> getOrdersByStage(@PathVariable ProductionStage stage) {
         return ResponseEntity.ok(manufacturingService.getOrdersByStage(stage));
     }
 
+    @GetMapping(value = "/orders/stage/{stage}", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getOrderFieldsByStage(@PathVariable ProductionStage stage,
+                                                                           @RequestParam List<String> fields) {
+        return ResponseEntity.ok(manufacturingService.getOrderFields(fields, Map.of("currentStage", stage)));
+    }
+
     @PutMapping("/orders/{id}")
-    public ResponseEntity<ProductionOrder> updateOrder(@PathVariable Long id,
-                                                       @RequestBody ProductionOrder order) {
-        return ResponseEntity.ok(manufacturingService.updateOrder(id, order));
+    public ResponseEntity<ProductionOrder> updateOrder(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody ProductionOrder order) {
+        ProductionOrder updated = manufacturingService.updateOrder(id, order, ETags.expectedVersion(ifMatch));
+        return ETags.ok(updated, updated.getVersion());
+    }
+
+    @PatchMapping(value = "/orders/{id}", consumes = MERGE_PATCH)
+    public ResponseEntity<ProductionOrder> patchOrder(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody JsonNode patch) {
+        ProductionOrder updated = manufacturingService.patchOrder(id, patch, ETags.expectedVersion(ifMatch));
+        return ETags.ok(updated, updated.getVersion());
     }
 
     @PatchMapping("/orders/{id}/advance")
-    public ResponseEntity<ProductionOrder> advanceStage(@PathVariable Long id,
-                                                        @RequestParam ProductionStage stage) {
-        return ResponseEntity.ok(manufacturingService.advanceStage(id, stage));
+    public ResponseEntity<ProductionOrder> advanceStage(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestParam ProductionStage stage) {
+        ProductionOrder updated = manufacturingService.advanceStage(id, stage, ETags.expectedVersion(ifMatch));
+        return ETags.ok(updated, updated.getVersion());
+    }
+
+    @GetMapping("/analytics")
+    public ResponseEntity<List<LineAnalytics>> getLineAnalytics() {
+        return ResponseEntity.ok(manufacturingService.getLineAnalytics());
+    }
+
+    @GetMapping("/analytics/{line}")
+    public ResponseEntity<LineAnalytics> getLineAnalytics(@PathVariable String line) {
+        return manufacturingService.getLineAnalytics(line)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
 
     @DeleteMapping("/orders/{id}")
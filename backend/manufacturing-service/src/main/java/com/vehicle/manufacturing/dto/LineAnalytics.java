@@ -0,0 +1,17 @@
+package com.vehicle.manufacturing.dto;
+
+import com.vehicle.manufacturing.model.ProductionStage;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public record LineAnalytics(String assignedLine,
+                            long workInProgress,
+                            Map<ProductionStage, Long> wipByStage,
+                            Map<ProductionStage, DwellTime> dwellByStage,
+                            long completedInWindow,
+                            double throughputPerHour,
+                            LocalDateTime projectedWipCompletion) {
+
+    public record DwellTime(long samples, double meanMinutes, double p50Minutes, double p95Minutes, double maxMinutes) {}
+}
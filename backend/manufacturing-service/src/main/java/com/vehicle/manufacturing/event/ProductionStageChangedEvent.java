@@ -0,0 +1,17 @@
+package com.vehicle.manufacturing.event;
+
+import com.vehicle.manufacturing.model.ProductionOrder;
+import com.vehicle.manufacturing.model.ProductionStage;
+import com.vehicle.manufacturing.model.ProductionStatus;
+
+import java.time.LocalDateTime;
+
+public record ProductionStageChangedEvent(String orderNumber, String vehicleVin, String assignedLine,
+                                          ProductionStage currentStage, ProductionStatus status,
+                                          Double completionPercentage, LocalDateTime changedAt) {
+
+    public static ProductionStageChangedEvent of(ProductionOrder order) {
+        return new ProductionStageChangedEvent(order.getOrderNumber(), order.getVehicleVin(), order.getAssignedLine(),
+                order.getCurrentStage(), order.getStatus(), order.getCompletionPercentage(), LocalDateTime.now());
+    }
+}
@@ -0,0 +1,94 @@
+package com.vehicle.manufacturing.kafka;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vehicle.events.EventEncoding;
+import com.vehicle.events.EventSchemas;
+import com.vehicle.manufacturing.model.ProductionOrder;
+import com.vehicle.manufacturing.model.ProductionStage;
+import com.vehicle.manufacturing.model.ProductionStatus;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+// Turns production order changes into production-events payloads. With status deltas on, PRODUCTION_STAGE_CHANGED
+// carries only the stage, status and progress instead of the whole production order.
+@Component
+public class ProductionEventCodec {
+    private static final String STAGE_CHANGED = "PRODUCTION_STAGE_CHANGED";
+
+    private final ObjectMapper objectMapper;
+    private final EventEncoding encoding;
+    private final boolean statusDeltas;
+
+    public ProductionEventCodec(ObjectMapper objectMapper,
+                                @Value("${events.encoding:avro}") EventEncoding encoding,
+                                @Value("${events.status-deltas:false}") boolean statusDeltas) {
+        this.objectMapper = objectMapper;
+        this.encoding = encoding;
+        this.statusDeltas = statusDeltas;
+    }
+
+    public byte[] encode(String eventType, ProductionOrder order) throws JsonProcessingException {
+        boolean delta = statusDeltas && STAGE_CHANGED.equals(eventType);
+        if (encoding == EventEncoding.AVRO) {
+            return EventSchemas.encode(delta ? stageChangedRecord(order) : productionEventRecord(eventType, order));
+        }
+        Object event = delta
+                ? new ProductionStageChangedEvent(eventType, new StageChange(order.getOrderNumber(),
+                        order.getVehicleVin(), order.getCurrentStage(), order.getStatus(),
+                        order.getCompletionPercentage(), order.getUpdatedAt()))
+                : new ProductionEvent(eventType, order);
+        return objectMapper.writeValueAsBytes(event);
+    }
+
+    private static GenericRecord productionEventRecord(String eventType, ProductionOrder order) {
+        GenericRecord record = new GenericData.Record(EventSchemas.PRODUCTION_EVENT.getField("order").schema());
+        record.put("id", order.getId());
+        record.put("orderNumber", order.getOrderNumber());
+        record.put("vehicleVin", order.getVehicleVin());
+        record.put("vehicleModel", order.getVehicleModel());
+        record.put("vehicleMake", order.getVehicleMake());
+        record.put("currentStage", name(order.getCurrentStage()));
+        record.put("status", name(order.getStatus()));
+        record.put("quantity", order.getQuantity());
+        record.put("startDate", EventSchemas.toMillis(order.getStartDate()));
+        record.put("expectedCompletionDate", EventSchemas.toMillis(order.getExpectedCompletionDate()));
+        record.put("actualCompletionDate", EventSchemas.toMillis(order.getActualCompletionDate()));
+        record.put("assignedLine", order.getAssignedLine());
+        record.put("completionPercentage", order.getCompletionPercentage());
+        record.put("notes", order.getNotes());
+        record.put("createdAt", EventSchemas.toMillis(order.getCreatedAt()));
+        record.put("updatedAt", EventSchemas.toMillis(order.getUpdatedAt()));
+
+        GenericRecord event = new GenericData.Record(EventSchemas.PRODUCTION_EVENT);
+        event.put("eventType", eventType);
+        event.put("order", record);
+        return event;
+    }
+
+    private static GenericRecord stageChangedRecord(ProductionOrder order) {
+        GenericRecord record = new GenericData.Record(EventSchemas.PRODUCTION_STAGE_CHANGED);
+        record.put("orderNumber", order.getOrderNumber());
+        record.put("vehicleVin", order.getVehicleVin());
+        record.put("currentStage", name(order.getCurrentStage()));
+        record.put("status", name(order.getStatus()));
+        record.put("completionPercentage", order.getCompletionPercentage());
+        record.put("updatedAt", EventSchemas.toMillis(order.getUpdatedAt()));
+        return record;
+    }
+
+    private static String name(Enum<?> value) {
+        return value == null ? null : value.name();
+    }
+
+    private record ProductionEvent(String eventType, ProductionOrder order) {}
+
+    private record ProductionStageChangedEvent(String eventType, StageChange stageChange) {}
+
+    private record StageChange(String orderNumber, String vehicleVin, ProductionStage currentStage,
+                               ProductionStatus status, Double completionPercentage, LocalDateTime updatedAt) {}
+}
@@ -1,19 +1,22 @@
 package com.vehicle.manufacturing.kafka;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vehicle.manufacturing.event.ProductionStageChangedEvent;
+import com.vehicle.manufacturing.model.OutboxEvent;
 import com.vehicle.manufacturing.model.ProductionOrder;
+import com.vehicle.manufacturing.repository.OutboxEventRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class ProductionEventProducer {
-    private final KafkaTemplate<String, String> kafkaTemplate;
-    private final ObjectMapper objectMapper;
+    private final OutboxEventRepository outboxRepository;
+    private final ProductionEventCodec eventCodec;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
     private static final String PRODUCTION_TOPIC = "production-events";
 
@@ -27,17 +30,22 @@ public class ProductionEventProducer {
 
     public void sendProductionStageChangedEvent(ProductionOrder order) {
         sendEvent("PRODUCTION_STAGE_CHANGED", order);
+        applicationEventPublisher.publishEvent(ProductionStageChangedEvent.of(order));
     }
 
+    // Events are written to the outbox in the caller's transaction and published by OutboxRelay
     private void sendEvent(String eventType, ProductionOrder order) {
         try {
-            String message = objectMapper.writeValueAsString(new ProductionEvent(eventType, order));
-            kafkaTemplate.send(PRODUCTION_TOPIC, order.getOrderNumber(), message);
-            log.info("Sent {} event for order: {}", eventType, order.getOrderNumber());
+            byte[] message = eventCodec.encode(eventType, order);
+            OutboxEvent event = new OutboxEvent();
+            event.setTopic(PRODUCTION_TOPIC);
+            event.setMessageKey(order.getOrderNumber());
+            event.setEventType(eventType);
+            event.setPayload(message);
+            outboxRepository.save(event);
+            log.info("Queued {} event for order: {}", eventType, order.getOrderNumber());
         } catch (JsonProcessingException e) {
             log.error("Error serializing production event", e);
         }
     }
-
-    private record ProductionEvent(String eventType, ProductionOrder order) {}
 }
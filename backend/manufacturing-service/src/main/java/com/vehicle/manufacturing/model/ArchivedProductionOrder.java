@@ -0,0 +1,72 @@
+package com.vehicle.manufacturing.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+// A completed production order moved out of production_orders by ProductionOrderArchiver. Rows keep their original
+// id and version and are partitioned by the month the order last changed.
+@Entity
+@Immutable
+@Table(name = "production_orders_archive", indexes = {
+        @Index(name = "idx_production_orders_archive_order_number", columnList = "order_number"),
+        @Index(name = "idx_production_orders_archive_month", columnList = "archive_month")
+})
+@Data
+@NoArgsConstructor
+public class ArchivedProductionOrder {
+    @Id
+    private Long id;
+
+    private String orderNumber;
+    private String vehicleVin;
+    private String vehicleModel;
+    private String vehicleMake;
+
+    @Enumerated(EnumType.STRING)
+    private ProductionStage currentStage;
+
+    @Enumerated(EnumType.STRING)
+    private ProductionStatus status;
+
+    private Integer quantity;
+    private LocalDateTime startDate;
+    private LocalDateTime expectedCompletionDate;
+    private LocalDateTime actualCompletionDate;
+    private String assignedLine;
+    private Double completionPercentage;
+    private String notes;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Long version;
+
+    // yyyyMM of updatedAt
+    private Integer archiveMonth;
+    private LocalDateTime archivedAt;
+
+    public ProductionOrder toProductionOrder() {
+        ProductionOrder order = new ProductionOrder();
+        order.setId(id);
+        order.setOrderNumber(orderNumber);
+        order.setVehicleVin(vehicleVin);
+        order.setVehicleModel(vehicleModel);
+        order.setVehicleMake(vehicleMake);
+        order.setCurrentStage(currentStage);
+        order.setStatus(status);
+        order.setQuantity(quantity);
+        order.setStartDate(startDate);
+        order.setExpectedCompletionDate(expectedCompletionDate);
+        order.setActualCompletionDate(actualCompletionDate);
+        order.setAssignedLine(assignedLine);
+        order.setCompletionPercentage(completionPercentage);
+        order.setNotes(notes);
+        order.setCreatedAt(createdAt);
+        order.setUpdatedAt(updatedAt);
+        order.setVersion(version);
+        return order;
+    }
+}
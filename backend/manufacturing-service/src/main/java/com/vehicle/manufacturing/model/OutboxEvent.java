@@ -0,0 +1,37 @@
+package com.vehicle.manufacturing.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "event_outbox")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String topic;
+    private String messageKey;
+    private String eventType;
+
+    // Encoded event as it goes on the wire, JSON or Avro depending on events.encoding
+    @Lob
+    private byte[] payload;
+
+    private LocalDateTime createdAt;
+
+    // Set while OutboxRelay holds the event for sending
+    private LocalDateTime lockedUntil;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
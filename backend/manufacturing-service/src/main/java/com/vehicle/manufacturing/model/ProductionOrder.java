@@ -1,18 +1,28 @@
 package com.vehicle.manufacturing.model;
 
+import com.vehicle.common.persistence.Versioned;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "production_orders")
+@Table(name = "production_orders", indexes = {
+        @Index(name = "idx_production_orders_order_number", columnList = "order_number"),
+        @Index(name = "idx_production_orders_vehicle_vin", columnList = "vehicle_vin"),
+        @Index(name = "idx_production_orders_status", columnList = "status"),
+        @Index(name = "idx_production_orders_current_stage", columnList = "current_stage"),
+        @Index(name = "idx_production_orders_assigned_line", columnList = "assigned_line"),
+        @Index(name = "idx_production_orders_status_updated_at", columnList = "status, updated_at")
+})
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class ProductionOrder {
+public class ProductionOrder implements Versioned {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -39,6 +49,9 @@ public class ProductionOrder {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    @Version
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
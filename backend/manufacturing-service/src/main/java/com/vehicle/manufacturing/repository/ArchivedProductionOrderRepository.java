@@ -0,0 +1,12 @@
+package com.vehicle.manufacturing.repository;
+
+import com.vehicle.manufacturing.model.ArchivedProductionOrder;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ArchivedProductionOrderRepository extends JpaRepository<ArchivedProductionOrder, Long> {
+    Optional<ArchivedProductionOrder> findByOrderNumber(String orderNumber);
+}
@@ -16,4 +16,5 @@ public interface ProductionOrderRepository extends JpaRepository<ProductionOrder
     List<ProductionOrder> findByStatus(ProductionStatus status);
     List<ProductionOrder> findByCurrentStage(ProductionStage stage);
     List<ProductionOrder> findByAssignedLine(String assignedLine);
+    List<ProductionOrder> findByCurrentStageNot(ProductionStage stage);
 }
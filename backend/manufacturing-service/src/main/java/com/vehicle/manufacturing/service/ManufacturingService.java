@@ -1,9 +1,17 @@
 package com.vehicle.manufacturing.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vehicle.common.persistence.FieldProjectionRepository;
+import com.vehicle.common.persistence.VersionedEntities;
+import com.vehicle.manufacturing.analytics.LineAnalyticsEngine;
+import com.vehicle.manufacturing.dto.LineAnalytics;
 import com.vehicle.manufacturing.kafka.ProductionEventProducer;
+import com.vehicle.manufacturing.model.ArchivedProductionOrder;
 import com.vehicle.manufacturing.model.ProductionOrder;
 import com.vehicle.manufacturing.model.ProductionStage;
 import com.vehicle.manufacturing.model.ProductionStatus;
+import com.vehicle.manufacturing.repository.ArchivedProductionOrderRepository;
 import com.vehicle.manufacturing.repository.ProductionOrderRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -12,19 +20,32 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ManufacturingService {
     private final ProductionOrderRepository orderRepository;
+    private final ArchivedProductionOrderRepository archivedOrderRepository;
     private final ProductionEventProducer eventProducer;
+    private final LineAnalyticsEngine lineAnalytics;
+    private final FieldProjectionRepository fieldProjections;
+    private final ObjectMapper objectMapper;
+
+    private static final String ENTITY_NAME = "Production order";
+    // Fields a full update replaces; a merge patch may set any subset of them
+    private static final Set<String> UPDATABLE_FIELDS = Set.of("vehicleVin", "vehicleModel", "vehicleMake",
+            "currentStage", "status", "quantity", "expectedCompletionDate", "actualCompletionDate", "assignedLine",
+            "completionPercentage", "notes");
 
     @Transactional
     public ProductionOrder createProductionOrder(ProductionOrder order) {
         log.info("Creating production order: {}", order.getOrderNumber());
         ProductionOrder savedOrder = orderRepository.save(order);
+        lineAnalytics.onOrderSaved(savedOrder);
         eventProducer.sendProductionOrderCreatedEvent(savedOrder);
         return savedOrder;
     }
@@ -33,12 +54,19 @@ public class ManufacturingService {
         return orderRepository.findAll();
     }
 
+    public List<Map<String, Object>> getOrderFields(List<String> fields, Map<String, ?> filter) {
+        return fieldProjections.findFields(ProductionOrder.class, fields, filter);
+    }
+
     public Optional<ProductionOrder> getOrderById(Long id) {
         return orderRepository.findById(id);
     }
 
+    // Falls back to the archive for orders ProductionOrderArchiver has moved out of production_orders
     public Optional<ProductionOrder> getOrderByNumber(String orderNumber) {
-        return orderRepository.findByOrderNumber(orderNumber);
+        return orderRepository.findByOrderNumber(orderNumber)
+                .or(() -> archivedOrderRepository.findByOrderNumber(orderNumber)
+                        .map(ArchivedProductionOrder::toProductionOrder));
     }
 
     public List<ProductionOrder> getOrdersByStatus(ProductionStatus status) {
@@ -49,11 +77,18 @@ public class ManufacturingService {
         return orderRepository.findByCurrentStage(stage);
     }
 
+    public List<LineAnalytics> getLineAnalytics() {
+        return lineAnalytics.getAllLines();
+    }
+
+    public Optional<LineAnalytics> getLineAnalytics(String assignedLine) {
+        return lineAnalytics.getLine(assignedLine);
+    }
+
     @Transactional
-    public ProductionOrder updateOrder(Long id, ProductionOrder orderDetails) {
+    public ProductionOrder updateOrder(Long id, ProductionOrder orderDetails, Long expectedVersion) {
         log.info("Updating production order with ID: {}", id);
-        ProductionOrder order = orderRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Production order not found with id: " + id));
+        ProductionOrder order = findOrder(id, expectedVersion);
 
         order.setVehicleVin(orderDetails.getVehicleVin());
         order.setVehicleModel(orderDetails.getVehicleModel());
@@ -67,16 +102,30 @@ public class ManufacturingService {
         order.setCompletionPercentage(orderDetails.getCompletionPercentage());
         order.setNotes(orderDetails.getNotes());
 
-        ProductionOrder updatedOrder = orderRepository.save(order);
+        ProductionOrder updatedOrder = flush(order);
+        lineAnalytics.onOrderSaved(updatedOrder);
         eventProducer.sendProductionOrderUpdatedEvent(updatedOrder);
         return updatedOrder;
     }
 
+    // JSON Merge Patch (RFC 7386): members present in the patch replace the stored values and null clears them,
+    // everything else is left as it is
     @Transactional
-    public ProductionOrder advanceStage(Long id, ProductionStage newStage) {
+    public ProductionOrder patchOrder(Long id, JsonNode patch, Long expectedVersion) {
+        log.info("Patching production order with ID: {}", id);
+        ProductionOrder order = findOrder(id, expectedVersion);
+        applyPatch(order, patch);
+
+        ProductionOrder updatedOrder = flush(order);
+        lineAnalytics.onOrderSaved(updatedOrder);
+        eventProducer.sendProductionOrderUpdatedEvent(updatedOrder);
+        return updatedOrder;
+    }
+
+    @Transactional
+    public ProductionOrder advanceStage(Long id, ProductionStage newStage, Long expectedVersion) {
         log.info("Advancing production order {} to stage: {}", id, newStage);
-        ProductionOrder order = orderRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Production order not found with id: " + id));
+        ProductionOrder order = findOrder(id, expectedVersion);
         
         order.setCurrentStage(newStage);
         order.setStatus(ProductionStatus.IN_PROGRESS);
@@ -89,7 +138,8 @@ public class ManufacturingService {
             order.setActualCompletionDate(LocalDateTime.now());
         }
 
-        ProductionOrder updatedOrder = orderRepository.save(order);
+        ProductionOrder updatedOrder = flush(order);
+        lineAnalytics.onOrderSaved(updatedOrder);
         eventProducer.sendProductionStageChangedEvent(updatedOrder);
         return updatedOrder;
     }
@@ -100,6 +150,19 @@ public class ManufacturingService {
         ProductionOrder order = orderRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Production order not found with id: " + id));
         orderRepository.delete(order);
+        lineAnalytics.onOrderDeleted(order);
+    }
+
+    private ProductionOrder findOrder(Long id, Long expectedVersion) {
+        return VersionedEntities.find(orderRepository, ENTITY_NAME, id, expectedVersion);
+    }
+
+    private void applyPatch(ProductionOrder order, JsonNode patch) {
+        VersionedEntities.applyPatch(objectMapper, order, patch, UPDATABLE_FIELDS);
+    }
+
+    private ProductionOrder flush(ProductionOrder order) {
+        return VersionedEntities.flush(orderRepository, ENTITY_NAME, order);
     }
 
     private Double calculateCompletionPercentage(ProductionStage stage) {
@@ -0,0 +1,79 @@
+package com.vehicle.manufacturing.service;
+
+import com.vehicle.manufacturing.model.ProductionStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Moves production orders that completed more than manufacturing.archive.after ago out of production_orders, so
+// the stage, status and line scans over it only see work that is recent or still in the plant. Archived orders are
+// still found by order number.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "manufacturing.archive.enabled", havingValue = "true", matchIfMissing = true)
+public class ProductionOrderArchiver {
+    private static final String COLUMNS = "id, order_number, vehicle_vin, vehicle_model, vehicle_make, "
+            + "current_stage, status, quantity, start_date, expected_completion_date, actual_completion_date, "
+            + "assigned_line, completion_percentage, notes, created_at, updated_at, version";
+
+    // Locks the batch so a concurrent update waits and then fails its version check instead of being lost
+    private static final String SELECT_BATCH_SQL = "select id from production_orders where status = :status "
+            + "and updated_at < :cutoff order by id fetch first :limit rows only for update";
+    private static final String COPY_SQL = "insert into production_orders_archive (" + COLUMNS
+            + ", archive_month, archived_at) select " + COLUMNS
+            + ", extract(year from updated_at) * 100 + extract(month from updated_at), :now "
+            + "from production_orders where id in (:ids)";
+    private static final String DELETE_SQL = "delete from production_orders where id in (:ids)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${manufacturing.archive.after:30d}")
+    private Duration archiveAfter;
+
+    @Value("${manufacturing.archive.batch-size:1000}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${manufacturing.archive.interval-ms:3600000}")
+    public void archive() {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minus(archiveAfter));
+        long archived = 0;
+        int moved;
+        // One transaction per batch keeps lock time short while the sweep works through a large backlog
+        do {
+            moved = transactionTemplate.execute(status -> archiveBatch(cutoff));
+            archived += moved;
+        } while (moved == batchSize);
+        if (archived > 0) {
+            log.info("Archived {} production orders completed before {}", archived, cutoff);
+        }
+    }
+
+    private int archiveBatch(Timestamp cutoff) {
+        List<Long> ids = jdbcTemplate.queryForList(SELECT_BATCH_SQL, new MapSqlParameterSource()
+                .addValue("status", ProductionStatus.COMPLETED.name())
+                .addValue("cutoff", cutoff)
+                .addValue("limit", batchSize), Long.class);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        MapSqlParameterSource batch = new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("now", Timestamp.valueOf(LocalDateTime.now()));
+        jdbcTemplate.update(COPY_SQL, batch);
+        jdbcTemplate.update(DELETE_SQL, batch);
+        return ids.size();
+    }
+}
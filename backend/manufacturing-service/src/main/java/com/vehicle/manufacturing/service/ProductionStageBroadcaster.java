@@ -0,0 +1,162 @@
+package com.vehicle.manufacturing.service;
+
+import com.vehicle.manufacturing.event.ProductionStageChangedEvent;
+import com.vehicle.manufacturing.model.ProductionStage;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Component
+@Slf4j
+public class ProductionStageBroadcaster {
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService dispatcher;
+    private final int bufferSize;
+    private final long emitterTimeoutMs;
+
+    public ProductionStageBroadcaster(@Value("${manufacturing.stream.dispatch-threads:4}") int dispatchThreads,
+                                      @Value("${manufacturing.stream.buffer-size:256}") int bufferSize,
+                                      @Value("${manufacturing.stream.timeout-ms:1800000}") long emitterTimeoutMs) {
+        this.dispatcher = Executors.newFixedThreadPool(dispatchThreads);
+        this.bufferSize = bufferSize;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+    }
+
+    public SseEmitter subscribe(String assignedLine, ProductionStage stage) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, assignedLine, stage, bufferSize);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        log.info("Stage stream subscriber added (line={}, stage={}), {} active", assignedLine, stage, subscribers.size());
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStageChanged(ProductionStageChangedEvent event) {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.accepts(event)) {
+                subscriber.offer(event);
+                schedule(subscriber);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${manufacturing.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            dispatcher.execute(() -> send(subscriber, SseEmitter.event().comment("heartbeat")));
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.scheduled.compareAndSet(false, true)) {
+            dispatcher.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            for (ProductionStageChangedEvent event : subscriber.takeAll()) {
+                if (!send(subscriber, SseEmitter.event()
+                        .name("stage-changed")
+                        .id(event.orderNumber())
+                        .data(event))) {
+                    return;
+                }
+            }
+        } finally {
+            subscriber.scheduled.set(false);
+        }
+        // Events offered while this drain was running would otherwise wait for the next change
+        if (subscriber.hasPending()) {
+            schedule(subscriber);
+        }
+    }
+
+    private boolean send(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        try {
+            subscriber.emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            subscribers.remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final String assignedLine;
+        private final ProductionStage stage;
+        private final int capacity;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        // Latest undelivered change per order, oldest first
+        private final LinkedHashMap<String, ProductionStageChangedEvent> pending = new LinkedHashMap<>();
+        private long dropped;
+
+        private Subscriber(SseEmitter emitter, String assignedLine, ProductionStage stage, int capacity) {
+            this.emitter = emitter;
+            this.assignedLine = assignedLine;
+            this.stage = stage;
+            this.capacity = capacity;
+        }
+
+        private boolean accepts(ProductionStageChangedEvent event) {
+            return (assignedLine == null || assignedLine.equals(event.assignedLine()))
+                    && (stage == null || stage == event.currentStage());
+        }
+
+        // Coalesces repeated changes of one order and drops the oldest order once the buffer is full
+        private synchronized void offer(ProductionStageChangedEvent event) {
+            if (pending.replace(event.orderNumber(), event) != null) {
+                return;
+            }
+            if (pending.size() >= capacity) {
+                Iterator<String> oldest = pending.keySet().iterator();
+                oldest.next();
+                oldest.remove();
+                if (++dropped % capacity == 1) {
+                    log.warn("Stage stream subscriber is falling behind, {} changes dropped", dropped);
+                }
+            }
+            pending.put(event.orderNumber(), event);
+        }
+
+        private synchronized List<ProductionStageChangedEvent> takeAll() {
+            List<ProductionStageChangedEvent> events = new ArrayList<>(pending.values());
+            pending.clear();
+            return events;
+        }
+
+        private synchronized boolean hasPending() {
+            return !pending.isEmpty();
+        }
+    }
+}
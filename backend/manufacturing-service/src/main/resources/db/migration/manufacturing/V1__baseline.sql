@@ -0,0 +1,33 @@
+create table production_orders (
+    id                       bigint generated by default as identity primary key,
+    order_number             varchar(255),
+    vehicle_vin              varchar(255),
+    vehicle_model            varchar(255),
+    vehicle_make             varchar(255),
+    current_stage            varchar(32),
+    status                   varchar(32),
+    quantity                 integer,
+    start_date               timestamp(6),
+    expected_completion_date timestamp(6),
+    actual_completion_date   timestamp(6),
+    assigned_line            varchar(255),
+    completion_percentage    double precision,
+    notes                    varchar(255),
+    created_at               timestamp(6),
+    updated_at               timestamp(6)
+);
+
+create index idx_production_orders_order_number on production_orders (order_number);
+create index idx_production_orders_vehicle_vin on production_orders (vehicle_vin);
+create index idx_production_orders_status on production_orders (status);
+create index idx_production_orders_current_stage on production_orders (current_stage);
+create index idx_production_orders_assigned_line on production_orders (assigned_line);
+
+create table event_outbox (
+    id          bigint generated by default as identity primary key,
+    topic       varchar(255),
+    message_key varchar(255),
+    event_type  varchar(255),
+    payload     clob,
+    created_at  timestamp(6)
+);
@@ -0,0 +1,5 @@
+-- Outbox payloads are the encoded event bytes, JSON or Avro, rather than text
+alter table event_outbox add column payload_bytes blob;
+update event_outbox set payload_bytes = stringtoutf8(payload);
+alter table event_outbox drop column payload;
+alter table event_outbox alter column payload_bytes rename to payload;
@@ -0,0 +1,2 @@
+-- Row version for optimistic locking; existing rows start at 0
+alter table production_orders add column version bigint default 0 not null;
@@ -0,0 +1,28 @@
+-- Completed production orders moved out of the hot table by ProductionOrderArchiver, keyed by their original id
+create table production_orders_archive (
+    id                       bigint not null primary key,
+    order_number             varchar(255),
+    vehicle_vin              varchar(255),
+    vehicle_model            varchar(255),
+    vehicle_make             varchar(255),
+    current_stage            varchar(32),
+    status                   varchar(32),
+    quantity                 integer,
+    start_date               timestamp(6),
+    expected_completion_date timestamp(6),
+    actual_completion_date   timestamp(6),
+    assigned_line            varchar(255),
+    completion_percentage    double precision,
+    notes                    varchar(255),
+    created_at               timestamp(6),
+    updated_at               timestamp(6),
+    version                  bigint,
+    archive_month            integer,
+    archived_at              timestamp(6)
+);
+
+create index idx_production_orders_archive_order_number on production_orders_archive (order_number);
+create index idx_production_orders_archive_month on production_orders_archive (archive_month);
+
+-- The archiver looks for old completed orders by status and age
+create index idx_production_orders_status_updated_at on production_orders (status, updated_at);
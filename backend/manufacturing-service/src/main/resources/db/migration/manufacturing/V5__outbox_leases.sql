@@ -0,0 +1,2 @@
+-- Set while the outbox relay holds an event for sending, so concurrent relays claim disjoint batches
+alter table event_outbox add column locked_until timestamp(6);
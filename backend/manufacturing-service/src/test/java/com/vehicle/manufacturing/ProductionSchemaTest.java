@@ -0,0 +1,21 @@
+package com.vehicle.manufacturing;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+// Starts the production profile on a fresh in-memory database: Flyway builds the schema and Hibernate validates every
+// entity against it, so a mapping the migrations do not back fails the build
+@SpringBootTest(properties = {
+        "eureka.client.enabled=false",
+        "spring.kafka.admin.auto-create=false",
+        "spring.kafka.listener.auto-startup=false",
+        "spring.datasource.url=jdbc:h2:mem:manufacturing-schema;DB_CLOSE_DELAY=-1"})
+@ActiveProfiles("production")
+class ProductionSchemaTest {
+
+    @Test
+    void entitiesMatchTheMigratedSchema() {
+        // Startup fails if a table, column, column type or sequence is missing
+    }
+}
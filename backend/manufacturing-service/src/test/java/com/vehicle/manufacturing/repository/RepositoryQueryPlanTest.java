@@ -0,0 +1,57 @@
+package com.vehicle.manufacturing.repository;
+
+import com.vehicle.common.persistence.QueryPlanGuard;
+import com.vehicle.manufacturing.model.ProductionStage;
+import com.vehicle.manufacturing.model.ProductionStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+// Runs every finder against the Flyway schema filled with synthetic rows, so dropping an index from a migration fails
+// the build. Orders are spread over 20 assembly lines; archival is off so the rows stay put. findByCurrentStageNot is
+// left out because a not-equal predicate cannot use an index.
+@SpringBootTest(properties = {
+        "eureka.client.enabled=false",
+        "spring.kafka.admin.auto-create=false",
+        "spring.kafka.listener.auto-startup=false",
+        "manufacturing.archive.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:manufacturing-plan;DB_CLOSE_DELAY=-1",
+        QueryPlanGuard.STATEMENT_INSPECTOR})
+@ActiveProfiles("production")
+class RepositoryQueryPlanTest {
+    private static final int ROWS = 10_000;
+    private static final int MIN_ROWS = 1_000;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private ProductionOrderRepository orders;
+
+    @Test
+    void findersUseIndexes() {
+        jdbc.update("""
+                insert into production_orders (id, order_number, vehicle_vin, vehicle_make, vehicle_model,
+                                               current_stage, status, quantity, start_date, assigned_line,
+                                               completion_percentage, created_at, updated_at, version)
+                select x, 'PO-' || x, 'SYN' || lpad(cast(x as varchar), 14, '0'), 'MAKE-' || mod(x, 1000),
+                       'MODEL-' || mod(x, 10000), 'PAINTING', 'ON_HOLD', 1, current_timestamp,
+                       'LINE-' || mod(x, 20), 50, current_timestamp, current_timestamp, 0
+                from system_range(1, ?)
+                """, ROWS);
+
+        QueryPlanGuard guard = new QueryPlanGuard(jdbc, MIN_ROWS);
+        guard.check("ProductionOrderRepository.findByOrderNumber", () -> orders.findByOrderNumber("PO-1"), "PO-1");
+        guard.check("ProductionOrderRepository.findByVehicleVin",
+                () -> orders.findByVehicleVin("SYN00000000000001"), "SYN00000000000001");
+        guard.check("ProductionOrderRepository.findByStatus", () -> orders.findByStatus(ProductionStatus.ON_HOLD),
+                ProductionStatus.ON_HOLD);
+        guard.check("ProductionOrderRepository.findByCurrentStage",
+                () -> orders.findByCurrentStage(ProductionStage.PAINTING), ProductionStage.PAINTING);
+        guard.check("ProductionOrderRepository.findByAssignedLine", () -> orders.findByAssignedLine("LINE-1"),
+                "LINE-1");
+        guard.assertNoTableScans();
+    }
+}
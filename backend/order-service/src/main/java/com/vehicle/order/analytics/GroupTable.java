@@ -0,0 +1,82 @@
+package com.vehicle.order.analytics;
+
+// Running sums per packed group key in parallel arrays with linear probing, so a scan aggregates millions of rows
+// without boxing. A slot with a zero count is empty, since every group that exists has at least one order.
+final class GroupTable {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private long[] counts = new long[INITIAL_CAPACITY];
+    private double[] revenue = new double[INITIAL_CAPACITY];
+    private double[] deposits = new double[INITIAL_CAPACITY];
+    private int size;
+
+    void add(long key, long count, double price, double deposit) {
+        int slot = slot(key);
+        if (counts[slot] == 0) {
+            if ((size + 1) * 2 > keys.length) {
+                rehash(keys.length * 2);
+                slot = slot(key);
+            }
+            keys[slot] = key;
+            size++;
+        }
+        counts[slot] += count;
+        revenue[slot] += price;
+        deposits[slot] += deposit;
+    }
+
+    void addAll(GroupTable other) {
+        for (int i = 0; i < other.keys.length; i++) {
+            if (other.counts[i] != 0) {
+                add(other.keys[i], other.counts[i], other.revenue[i], other.deposits[i]);
+            }
+        }
+    }
+
+    void forEach(GroupConsumer consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (counts[i] != 0) {
+                consumer.accept(keys[i], counts[i], revenue[i], deposits[i]);
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    private int slot(long key) {
+        int mask = keys.length - 1;
+        int slot = (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+        while (counts[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldCounts = counts;
+        double[] oldRevenue = revenue;
+        double[] oldDeposits = deposits;
+        keys = new long[capacity];
+        counts = new long[capacity];
+        revenue = new double[capacity];
+        deposits = new double[capacity];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldCounts[i] != 0) {
+                int slot = slot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                counts[slot] = oldCounts[i];
+                revenue[slot] = oldRevenue[i];
+                deposits[slot] = oldDeposits[i];
+            }
+        }
+    }
+
+    @FunctionalInterface
+    interface GroupConsumer {
+        void accept(long key, long count, double revenue, double deposits);
+    }
+}
@@ -0,0 +1,345 @@
+package com.vehicle.order.analytics;
+
+import com.vehicle.order.dto.OrderAnalytics;
+import com.vehicle.order.dto.OrderAnalyticsQuery;
+import com.vehicle.order.dto.OrderAnalyticsQuery.Dimension;
+import com.vehicle.order.model.Order;
+import com.vehicle.order.model.OrderStatus;
+import com.vehicle.order.repository.ArchivedOrderRepository;
+import com.vehicle.order.repository.OrderRepository;
+import com.vehicle.order.repository.OrderRepository.OrderFacts;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiFunction;
+
+// Revenue and deposit aggregates over a columnar copy of the orders table, so sales reporting neither scans the
+// database nor reads customer details. Saved and deleted orders are applied once their transaction commits; queries
+// split the rows across a dedicated fork-join pool and merge per-chunk group tables.
+@Component
+@Slf4j
+public class OrderAnalyticsEngine {
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+    private static final long CODE_MASK = (1L << 22) - 1;
+    private static final long MONTH_MASK = (1L << 16) - 1;
+
+    private final OrderRepository orderRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final int rebuildPageSize;
+    private final int scanChunkRows;
+    private final int maxGroups;
+    private final ForkJoinPool scanPool;
+
+    private final OrderColumns columns = new OrderColumns();
+    // Queries hold the read lock for the whole scan; writers wait for it to finish
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Orders written while a rebuild is running; the rebuild's older copy of them is skipped
+    private final Set<Long> changedDuringRebuild = new HashSet<>();
+    private boolean rebuilding;
+
+    public OrderAnalyticsEngine(OrderRepository orderRepository,
+                                ArchivedOrderRepository archivedOrderRepository,
+                                @Value("${order.analytics.rebuild-page-size:5000}") int rebuildPageSize,
+                                @Value("${order.analytics.scan-chunk-rows:65536}") int scanChunkRows,
+                                @Value("${order.analytics.max-groups:1000}") int maxGroups,
+                                @Value("${order.analytics.parallelism:0}") int parallelism) {
+        this.orderRepository = orderRepository;
+        this.archivedOrderRepository = archivedOrderRepository;
+        this.rebuildPageSize = rebuildPageSize;
+        this.scanChunkRows = scanChunkRows;
+        this.maxGroups = maxGroups;
+        this.scanPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    // Archived orders are loaded after the live ones, so an order archived mid-rebuild is read at least once
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        write(() -> {
+            columns.clear();
+            changedDuringRebuild.clear();
+            rebuilding = true;
+        });
+        long loaded;
+        try {
+            loaded = load(orderRepository::findFactsAfter) + load(archivedOrderRepository::findFactsAfter);
+        } finally {
+            write(() -> {
+                rebuilding = false;
+                changedDuringRebuild.clear();
+            });
+        }
+        log.info("Order analytics rebuilt from {} orders", loaded);
+    }
+
+    public void onOrderSaved(Order order) {
+        Long id = order.getId();
+        String make = order.getVehicleMake();
+        String model = order.getVehicleModel();
+        OrderStatus status = order.getStatus();
+        Double totalPrice = order.getTotalPrice();
+        Double depositAmount = order.getDepositAmount();
+        LocalDateTime orderDate = order.getOrderDate();
+        afterCommit(() -> write(() -> {
+            markChanged(id);
+            columns.upsert(id, make, model, status, totalPrice, depositAmount, orderDate);
+        }));
+    }
+
+    public void onOrderDeleted(Long id) {
+        afterCommit(() -> write(() -> {
+            markChanged(id);
+            columns.remove(id);
+        }));
+    }
+
+    public OrderAnalytics query(OrderAnalyticsQuery query) {
+        List<Dimension> groupBy = query.groupBy() == null ? List.of() : List.copyOf(query.groupBy());
+        int limit = query.limit() > 0 ? Math.min(query.limit(), maxGroups) : maxGroups;
+
+        List<GroupSums> sums = new ArrayList<>();
+        List<OrderAnalytics.Group> groups = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Scan scan = new Scan(columns, query, groupBy, scanChunkRows);
+            GroupTable table = scanPool.invoke(new ScanTask(scan, 0, columns.size));
+            table.forEach((key, count, revenue, deposits) -> sums.add(new GroupSums(key, count, revenue, deposits)));
+            sums.sort(Comparator.comparingDouble(GroupSums::revenue).reversed());
+            for (GroupSums group : sums.subList(0, Math.min(limit, sums.size()))) {
+                groups.add(new OrderAnalytics.Group(decode(group.key(), groupBy), group.count(), group.revenue(),
+                        group.deposits(), group.revenue() - group.deposits()));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        long orders = sums.stream().mapToLong(GroupSums::count).sum();
+        double revenue = sums.stream().mapToDouble(GroupSums::revenue).sum();
+        double deposits = sums.stream().mapToDouble(GroupSums::deposits).sum();
+        return new OrderAnalytics(groupBy.stream().map(Dimension::label).toList(), orders, revenue, deposits,
+                revenue - deposits, sums.size(), groups);
+    }
+
+    @PreDestroy
+    public void close() {
+        scanPool.shutdownNow();
+    }
+
+    private long load(BiFunction<Long, Pageable, List<OrderFacts>> pages) {
+        long loaded = 0;
+        long afterId = 0;
+        List<OrderFacts> page;
+        do {
+            page = pages.apply(afterId, PageRequest.of(0, rebuildPageSize));
+            List<OrderFacts> rows = page;
+            write(() -> rows.stream()
+                    .filter(row -> !changedDuringRebuild.contains(row.getId()))
+                    .forEach(row -> columns.upsert(row.getId(), row.getVehicleMake(), row.getVehicleModel(),
+                            row.getStatus(), row.getTotalPrice(), row.getDepositAmount(), row.getOrderDate())));
+            loaded += page.size();
+            if (!page.isEmpty()) {
+                afterId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == rebuildPageSize);
+        return loaded;
+    }
+
+    private void markChanged(Long id) {
+        if (rebuilding) {
+            changedDuringRebuild.add(id);
+        }
+    }
+
+    private void write(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Called under the read lock, since the dictionaries may grow otherwise
+    private Map<String, String> decode(long key, List<Dimension> groupBy) {
+        Map<String, String> labels = new LinkedHashMap<>();
+        for (Dimension dimension : groupBy) {
+            String label = switch (dimension) {
+                case STATUS -> STATUSES[(int) (key >>> 60) - 1].name();
+                case MONTH -> {
+                    int month = (int) ((key >>> 44) & MONTH_MASK) - 1;
+                    yield month < 0 ? null : YearMonth.of(month / 12, month % 12 + 1).toString();
+                }
+                case MAKE -> columns.makes.value((int) ((key >>> 22) & CODE_MASK) - 1);
+                case MODEL -> columns.models.value((int) (key & CODE_MASK) - 1);
+            };
+            labels.put(dimension.label(), label);
+        }
+        return labels;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private record GroupSums(long key, long count, double revenue, double deposits) {}
+
+    // A query resolved against the current dictionaries, with the column arrays captured so every chunk of one
+    // scan reads the same ones. A group key packs status (4 bits), month (16), make (22) and model (22), each
+    // offset by one so that zero means "not grouped" or "unknown".
+    private static final class Scan {
+        private final int[] make;
+        private final int[] model;
+        private final int[] status;
+        private final double[] totalPrice;
+        private final double[] depositAmount;
+        private final int[] orderDay;
+        private final int[] orderMonth;
+        private final int chunkRows;
+
+        private final boolean[] statusFilter;
+        private final boolean[] makeFilter;
+        private final boolean[] modelFilter;
+        private final boolean dateFiltered;
+        private final int fromDay;
+        private final int toDay;
+
+        private final boolean byStatus;
+        private final boolean byMonth;
+        private final boolean byMake;
+        private final boolean byModel;
+
+        private Scan(OrderColumns columns, OrderAnalyticsQuery query, List<Dimension> groupBy, int chunkRows) {
+            this.make = columns.make;
+            this.model = columns.model;
+            this.status = columns.status;
+            this.totalPrice = columns.totalPrice;
+            this.depositAmount = columns.depositAmount;
+            this.orderDay = columns.orderDay;
+            this.orderMonth = columns.orderMonth;
+            this.chunkRows = Math.max(1, chunkRows);
+
+            if (query.statuses() == null || query.statuses().isEmpty()) {
+                statusFilter = null;
+            } else {
+                statusFilter = new boolean[STATUSES.length];
+                query.statuses().forEach(value -> statusFilter[value.ordinal()] = true);
+            }
+            makeFilter = filter(columns.makes, query.makes());
+            modelFilter = filter(columns.models, query.models());
+            dateFiltered = query.from() != null || query.to() != null;
+            fromDay = query.from() == null ? Integer.MIN_VALUE : (int) query.from().toEpochDay();
+            toDay = query.to() == null ? Integer.MAX_VALUE : (int) query.to().toEpochDay();
+
+            byStatus = groupBy.contains(Dimension.STATUS);
+            byMonth = groupBy.contains(Dimension.MONTH);
+            byMake = groupBy.contains(Dimension.MAKE);
+            byModel = groupBy.contains(Dimension.MODEL);
+        }
+
+        // Values the dictionary has never seen match no rows, so an unknown make yields an empty result
+        private static boolean[] filter(OrderColumns.Dictionary dictionary, Set<String> values) {
+            if (values == null || values.isEmpty()) {
+                return null;
+            }
+            boolean[] allowed = new boolean[dictionary.size()];
+            for (String value : values) {
+                int code = dictionary.code(value);
+                if (code != OrderColumns.NONE) {
+                    allowed[code] = true;
+                }
+            }
+            return allowed;
+        }
+
+        private GroupTable aggregate(int from, int to) {
+            GroupTable table = new GroupTable();
+            for (int row = from; row < to; row++) {
+                int rowStatus = status[row];
+                if (rowStatus == OrderColumns.NONE || (statusFilter != null && !statusFilter[rowStatus])) {
+                    continue;
+                }
+                int rowMake = make[row];
+                if (makeFilter != null && (rowMake == OrderColumns.NONE || !makeFilter[rowMake])) {
+                    continue;
+                }
+                int rowModel = model[row];
+                if (modelFilter != null && (rowModel == OrderColumns.NONE || !modelFilter[rowModel])) {
+                    continue;
+                }
+                int day = orderDay[row];
+                if (dateFiltered && (day == OrderColumns.NO_DATE || day < fromDay || day > toDay)) {
+                    continue;
+                }
+
+                long key = 0;
+                if (byStatus) {
+                    key |= (long) (rowStatus + 1) << 60;
+                }
+                if (byMonth && orderMonth[row] != OrderColumns.NO_DATE) {
+                    key |= ((orderMonth[row] + 1) & MONTH_MASK) << 44;
+                }
+                if (byMake) {
+                    key |= (long) (rowMake + 1) << 22;
+                }
+                if (byModel) {
+                    key |= rowModel + 1;
+                }
+                table.add(key, 1, totalPrice[row], depositAmount[row]);
+            }
+            return table;
+        }
+    }
+
+    private static final class ScanTask extends RecursiveTask<GroupTable> {
+        private final Scan scan;
+        private final int from;
+        private final int to;
+
+        private ScanTask(Scan scan, int from, int to) {
+            this.scan = scan;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected GroupTable compute() {
+            if (to - from <= scan.chunkRows) {
+                return scan.aggregate(from, to);
+            }
+            int middle = (from + to) >>> 1;
+            ScanTask left = new ScanTask(scan, from, middle);
+            left.fork();
+            GroupTable table = new ScanTask(scan, middle, to).compute();
+            table.addAll(left.join());
+            return table;
+        }
+    }
+}
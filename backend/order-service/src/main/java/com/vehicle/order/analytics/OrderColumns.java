@@ -0,0 +1,146 @@
+package com.vehicle.order.analytics;
+
+import com.vehicle.order.model.OrderStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// The order facts analytics needs, one primitive array per column. Make and model are dictionary-encoded, status is
+// the enum ordinal, and the order date is kept both as an epoch day for range filters and as a year-month for
+// grouping. Rows freed by deletes are reused. Not thread-safe; OrderAnalyticsEngine guards it with its lock.
+final class OrderColumns {
+    static final int NONE = -1;
+    static final int NO_DATE = Integer.MIN_VALUE;
+    // Codes are packed into 22 bits of a group key
+    static final int MAX_DICTIONARY_SIZE = (1 << 22) - 2;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    final Dictionary makes = new Dictionary();
+    final Dictionary models = new Dictionary();
+
+    int[] make = new int[INITIAL_CAPACITY];
+    int[] model = new int[INITIAL_CAPACITY];
+    // NONE marks a free row
+    int[] status = new int[INITIAL_CAPACITY];
+    double[] totalPrice = new double[INITIAL_CAPACITY];
+    double[] depositAmount = new double[INITIAL_CAPACITY];
+    int[] orderDay = new int[INITIAL_CAPACITY];
+    int[] orderMonth = new int[INITIAL_CAPACITY];
+    // Rows in use, free ones included; scans cover [0, size)
+    int size;
+
+    private final Map<Long, Integer> rowsById = new HashMap<>();
+    private int[] freeRows = new int[16];
+    private int freeCount;
+
+    void upsert(long id, String vehicleMake, String vehicleModel, OrderStatus orderStatus, Double price,
+                Double deposit, LocalDateTime orderDate) {
+        Integer existing = rowsById.get(id);
+        int row = existing != null ? existing : allocate(id);
+        make[row] = makes.encode(vehicleMake);
+        model[row] = models.encode(vehicleModel);
+        // An order without a status has nothing to report but still holds its row
+        status[row] = orderStatus == null ? NONE : orderStatus.ordinal();
+        totalPrice[row] = price == null ? 0 : price;
+        depositAmount[row] = deposit == null ? 0 : deposit;
+        if (orderDate == null) {
+            orderDay[row] = NO_DATE;
+            orderMonth[row] = NO_DATE;
+        } else {
+            orderDay[row] = (int) orderDate.toLocalDate().toEpochDay();
+            orderMonth[row] = orderDate.getYear() * 12 + orderDate.getMonthValue() - 1;
+        }
+    }
+
+    void remove(long id) {
+        Integer row = rowsById.remove(id);
+        if (row == null) {
+            return;
+        }
+        status[row] = NONE;
+        if (freeCount == freeRows.length) {
+            freeRows = Arrays.copyOf(freeRows, freeCount * 2);
+        }
+        freeRows[freeCount++] = row;
+    }
+
+    void clear() {
+        rowsById.clear();
+        makes.clear();
+        models.clear();
+        size = 0;
+        freeCount = 0;
+    }
+
+    int orders() {
+        return rowsById.size();
+    }
+
+    private int allocate(long id) {
+        int row;
+        if (freeCount > 0) {
+            row = freeRows[--freeCount];
+        } else {
+            if (size == status.length) {
+                grow(size * 2);
+            }
+            row = size++;
+        }
+        rowsById.put(id, row);
+        return row;
+    }
+
+    private void grow(int capacity) {
+        make = Arrays.copyOf(make, capacity);
+        model = Arrays.copyOf(model, capacity);
+        status = Arrays.copyOf(status, capacity);
+        totalPrice = Arrays.copyOf(totalPrice, capacity);
+        depositAmount = Arrays.copyOf(depositAmount, capacity);
+        orderDay = Arrays.copyOf(orderDay, capacity);
+        orderMonth = Arrays.copyOf(orderMonth, capacity);
+    }
+
+    // Codes are never reclaimed, which is fine for the few thousand makes and models a catalogue has
+    static final class Dictionary {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int encode(String value) {
+            if (value == null) {
+                return NONE;
+            }
+            Integer code = codes.get(value);
+            if (code != null) {
+                return code;
+            }
+            if (values.size() == MAX_DICTIONARY_SIZE) {
+                throw new IllegalStateException("Order analytics dictionary is full");
+            }
+            values.add(value);
+            codes.put(value, values.size() - 1);
+            return values.size() - 1;
+        }
+
+        int code(String value) {
+            return codes.getOrDefault(value, NONE);
+        }
+
+        String value(int code) {
+            return code == NONE ? null : values.get(code);
+        }
+
+        int size() {
+            return values.size();
+        }
+
+        private void clear() {
+            codes.clear();
+            values.clear();
+        }
+    }
+}
@@ -1,22 +1,33 @@
 package com.vehicle.order.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.vehicle.common.web.ETags;
+import com.vehicle.order.dto.OrderAnalytics;
+import com.vehicle.order.dto.OrderAnalyticsQuery;
 import com.vehicle.order.model.Order;
 import com.vehicle.order.model.OrderStatus;
 import com.vehicle.order.service.OrderService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/orders")
 @RequiredArgsConstructor
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = "ETag")
 public class OrderController {
     private final OrderService orderService;
 
+    private static final String MERGE_PATCH = "application/merge-patch+json";
+
     @PostMapping
     public ResponseEntity<Order> createOrder(@RequestBody Order order) {
         return ResponseEntity.status(HttpStatus.CREATED)
@@ -28,17 +39,22 @@ public class OrderController {
         return ResponseEntity.ok(orderService.getAllOrders());
     }
 
+    @GetMapping(params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getAllOrderFields(@RequestParam List<String> fields) {
+        return ResponseEntity.ok(orderService.getOrderFields(fields, Map.of()));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Order> getOrderById(@PathVariable Long id) {
         return orderService.getOrderById(id)
-                .map(ResponseEntity::ok)
+                .map(order -> ETags.ok(order, order.getVersion()))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/number/{orderNumber}")
     public ResponseEntity<Order> getOrderByNumber(@PathVariable String orderNumber) {
         return orderService.getOrderByNumber(orderNumber)
-                .map(ResponseEntity::ok)
+                .map(order -> ETags.ok(order, order.getVersion()))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -47,21 +63,67 @@ public class OrderController {
         return ResponseEntity.ok(orderService.getOrdersByCustomerId(customerId));
     }
 
+    @GetMapping(value = "/customer/{customerId}", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getOrderFieldsByCustomerId(@PathVariable String customerId,
+                                                                                @RequestParam List<String> fields) {
+        return ResponseEntity.ok(orderService.getOrderFields(fields, Map.of("customerId", customerId)));
+    }
+
     @GetMapping("/status/{status}")
     public ResponseEntity<List<Order>> getOrdersByStatus(@PathVariable OrderStatus status) {
         return ResponseEntity.ok(orderService.getOrdersByStatus(status));
     }
 
+    @GetMapping(value = "/status/{status}", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getOrderFieldsByStatus(@PathVariable OrderStatus status,
+                                                                            @RequestParam List<String> fields) {
+        return ResponseEntity.ok(orderService.getOrderFields(fields, Map.of("status", status)));
+    }
+
+    // e.g. ?groupBy=make&groupBy=month for revenue by make and month, ?groupBy=status for deposits by status
+    @GetMapping("/analytics")
+    public ResponseEntity<OrderAnalytics> getAnalytics(
+            @RequestParam(defaultValue = "") List<String> groupBy,
+            @RequestParam(required = false) Set<OrderStatus> status,
+            @RequestParam(required = false) Set<String> make,
+            @RequestParam(required = false) Set<String> model,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "100") int limit) {
+        List<OrderAnalyticsQuery.Dimension> dimensions = groupBy.stream()
+                .filter(name -> !name.isBlank())
+                .map(OrderAnalyticsQuery.Dimension::of)
+                .distinct()
+                .toList();
+        return ResponseEntity.ok(orderService.getAnalytics(
+                new OrderAnalyticsQuery(dimensions, status, make, model, from, to, limit)));
+    }
+
     @PutMapping("/{id}")
-    public ResponseEntity<Order> updateOrder(@PathVariable Long id,
-                                             @RequestBody Order order) {
-        return ResponseEntity.ok(orderService.updateOrder(id, order));
+    public ResponseEntity<Order> updateOrder(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody Order order) {
+        Order updated = orderService.updateOrder(id, order, ETags.expectedVersion(ifMatch));
+        return ETags.ok(updated, updated.getVersion());
+    }
+
+    @PatchMapping(value = "/{id}", consumes = MERGE_PATCH)
+    public ResponseEntity<Order> patchOrder(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody JsonNode patch) {
+        Order updated = orderService.patchOrder(id, patch, ETags.expectedVersion(ifMatch));
+        return ETags.ok(updated, updated.getVersion());
     }
 
     @PatchMapping("/{id}/status")
-    public ResponseEntity<Order> updateOrderStatus(@PathVariable Long id,
-                                                    @RequestParam OrderStatus status) {
-        return ResponseEntity.ok(orderService.updateOrderStatus(id, status));
+    public ResponseEntity<Order> updateOrderStatus(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestParam OrderStatus status) {
+        Order updated = orderService.updateOrderStatus(id, status, ETags.expectedVersion(ifMatch));
+        return ETags.ok(updated, updated.getVersion());
     }
 
     @DeleteMapping("/{id}")
@@ -0,0 +1,16 @@
+package com.vehicle.order.dto;
+
+import java.util.List;
+import java.util.Map;
+
+// Totals cover every matching order; groups are ordered by revenue and cut at the query's limit
+public record OrderAnalytics(List<String> groupBy,
+                             long orders,
+                             double revenue,
+                             double deposits,
+                             double balanceDue,
+                             int totalGroups,
+                             List<Group> groups) {
+
+    public record Group(Map<String, String> key, long orders, double revenue, double deposits, double balanceDue) {}
+}
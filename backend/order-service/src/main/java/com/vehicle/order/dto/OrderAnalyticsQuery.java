@@ -0,0 +1,35 @@
+package com.vehicle.order.dto;
+
+import com.vehicle.common.exception.UnknownFieldException;
+import com.vehicle.order.model.OrderStatus;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+// Empty filter sets match everything; from and to are inclusive order dates
+public record OrderAnalyticsQuery(List<Dimension> groupBy,
+                                  Set<OrderStatus> statuses,
+                                  Set<String> makes,
+                                  Set<String> models,
+                                  LocalDate from,
+                                  LocalDate to,
+                                  int limit) {
+
+    public enum Dimension {
+        MAKE, MODEL, STATUS, MONTH;
+
+        public static Dimension of(String name) {
+            try {
+                return valueOf(name.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new UnknownFieldException("Unknown analytics dimension: " + name);
+            }
+        }
+
+        public String label() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+}
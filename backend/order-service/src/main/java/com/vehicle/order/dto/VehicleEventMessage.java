@@ -0,0 +1,23 @@
+package com.vehicle.order.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+// The parts of vehicle-service's event payload that order-service reads. A full event carries the vehicle;
+// a VEHICLE_STATUS_CHANGED delta carries only the status change.
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record VehicleEventMessage(String eventType, Vehicle vehicle, StatusChange statusChange) {
+
+    public String vin() {
+        if (vehicle != null) {
+            return vehicle.vin();
+        }
+        return statusChange == null ? null : statusChange.vin();
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Vehicle(String vin, String make, String model, Integer year, String color, Double price,
+                          String status) {}
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record StatusChange(String vin, String status) {}
+}
@@ -0,0 +1,11 @@
+package com.vehicle.order.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class OrderChangeNotAllowedException extends RuntimeException {
+    public OrderChangeNotAllowedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,41 @@
+package com.vehicle.order.kafka;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vehicle.order.model.Order;
+import com.vehicle.order.model.OutboxEvent;
+import com.vehicle.order.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderEventProducer {
+    private final OutboxEventRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    private static final String ORDER_TOPIC = "order-events";
+
+    public void sendOrderStatusChangedEvent(Order order) {
+        sendEvent("ORDER_" + order.getStatus(), order);
+    }
+
+    // Events are written to the outbox in the caller's transaction and published by OutboxRelay
+    private void sendEvent(String eventType, Order order) {
+        try {
+            OutboxEvent event = new OutboxEvent();
+            event.setTopic(ORDER_TOPIC);
+            event.setMessageKey(String.valueOf(order.getId()));
+            event.setEventType(eventType);
+            event.setPayload(objectMapper.writeValueAsBytes(new OrderEvent(eventType, order)));
+            outboxRepository.save(event);
+            log.info("Queued {} event for order: {}", eventType, order.getOrderNumber());
+        } catch (JsonProcessingException e) {
+            log.error("Error serializing order event", e);
+        }
+    }
+
+    private record OrderEvent(String eventType, Order order) {}
+}
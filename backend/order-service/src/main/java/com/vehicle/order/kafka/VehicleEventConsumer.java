@@ -0,0 +1,49 @@
+package com.vehicle.order.kafka;
+
+import com.vehicle.order.service.VehicleProjection;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// vehicle-events is keyed by VIN, so one VIN's events always reach the same consumer thread in order;
+// throughput scales with the topic's partition count up to the configured concurrency
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class VehicleEventConsumer implements ConsumerSeekAware {
+    private final VehicleProjection vehicleProjection;
+
+    @KafkaListener(topics = "vehicle-events", groupId = "${order.saga.group-id:order-saga}",
+            concurrency = "${order.saga.consumer-concurrency:4}", batch = "true")
+    public void onVehicleEvents(List<ConsumerRecord<String, byte[]>> records) {
+        vehicleProjection.apply(records);
+    }
+
+    // The projection's own offsets are authoritative; the group's committed offsets may be ahead of or behind
+    // what the database holds after a crash or a snapshot restore
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        Map<Integer, Long> stored = vehicleProjection.nextOffsets();
+        List<TopicPartition> unseen = new ArrayList<>();
+        for (TopicPartition partition : assignments.keySet()) {
+            Long next = stored.get(partition.partition());
+            if (next == null) {
+                unseen.add(partition);
+            } else {
+                callback.seek(partition.topic(), partition.partition(), next);
+            }
+        }
+        if (!unseen.isEmpty()) {
+            log.info("Rebuilding vehicle projection for {} from the beginning", unseen);
+            callback.seekToBeginning(unseen);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.vehicle.order.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vehicle.events.EventSchemas;
+import com.vehicle.order.dto.VehicleEventMessage;
+import lombok.RequiredArgsConstructor;
+import org.apache.avro.generic.GenericRecord;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+// Reads vehicle-events payloads in either encoding, so vehicle-service can switch between them at any time
+@Component
+@RequiredArgsConstructor
+public class VehicleEventDecoder {
+    private final ObjectMapper objectMapper;
+
+    public VehicleEventMessage decode(byte[] payload) throws IOException {
+        if (!EventSchemas.isAvro(payload)) {
+            return objectMapper.readValue(payload, VehicleEventMessage.class);
+        }
+        GenericRecord record = EventSchemas.decode(payload);
+        if (record.getSchema().equals(EventSchemas.VEHICLE_STATUS_CHANGED)) {
+            return new VehicleEventMessage("VEHICLE_STATUS_CHANGED", null, new VehicleEventMessage.StatusChange(
+                    EventSchemas.string(record, "vin"), EventSchemas.string(record, "status")));
+        }
+        if (!record.getSchema().equals(EventSchemas.VEHICLE_EVENT)) {
+            throw new IOException("Unexpected " + record.getSchema().getFullName() + " on vehicle-events");
+        }
+        GenericRecord vehicle = (GenericRecord) record.get("vehicle");
+        return new VehicleEventMessage(EventSchemas.string(record, "eventType"), new VehicleEventMessage.Vehicle(
+                EventSchemas.string(vehicle, "vin"),
+                EventSchemas.string(vehicle, "make"),
+                EventSchemas.string(vehicle, "model"),
+                (Integer) vehicle.get("year"),
+                EventSchemas.string(vehicle, "color"),
+                (Double) vehicle.get("price"),
+                EventSchemas.string(vehicle, "status")), null);
+    }
+}
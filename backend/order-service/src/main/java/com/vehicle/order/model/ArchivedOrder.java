@@ -0,0 +1,82 @@
+package com.vehicle.order.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+// A finished order moved out of the orders table by OrderArchiver. Rows keep their original id and version and are
+// partitioned by the month the order last changed, so a month can be exported or dropped as one indexed range.
+@Entity
+@Immutable
+@Table(name = "orders_archive", indexes = {
+        @Index(name = "idx_orders_archive_order_number", columnList = "order_number"),
+        @Index(name = "idx_orders_archive_month", columnList = "archive_month")
+})
+@Data
+@NoArgsConstructor
+public class ArchivedOrder {
+    @Id
+    private Long id;
+
+    private String orderNumber;
+    private String customerId;
+    private String customerName;
+    private String customerEmail;
+    private String customerPhone;
+    private String vehicleVin;
+    private String vehicleModel;
+    private String vehicleMake;
+    private Integer vehicleYear;
+    private String vehicleColor;
+    private Double totalPrice;
+    private Double depositAmount;
+
+    @Enumerated(EnumType.STRING)
+    private OrderStatus status;
+    private String statusReason;
+
+    private String deliveryAddress;
+    private LocalDateTime orderDate;
+    private LocalDateTime expectedDeliveryDate;
+    private LocalDateTime actualDeliveryDate;
+    private String notes;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Long version;
+
+    // yyyyMM of updatedAt
+    private Integer archiveMonth;
+    private LocalDateTime archivedAt;
+
+    public Order toOrder() {
+        Order order = new Order();
+        order.setId(id);
+        order.setOrderNumber(orderNumber);
+        order.setCustomerId(customerId);
+        order.setCustomerName(customerName);
+        order.setCustomerEmail(customerEmail);
+        order.setCustomerPhone(customerPhone);
+        order.setVehicleVin(vehicleVin);
+        order.setVehicleModel(vehicleModel);
+        order.setVehicleMake(vehicleMake);
+        order.setVehicleYear(vehicleYear);
+        order.setVehicleColor(vehicleColor);
+        order.setTotalPrice(totalPrice);
+        order.setDepositAmount(depositAmount);
+        order.setStatus(status);
+        order.setStatusReason(statusReason);
+        order.setDeliveryAddress(deliveryAddress);
+        order.setOrderDate(orderDate);
+        order.setExpectedDeliveryDate(expectedDeliveryDate);
+        order.setActualDeliveryDate(actualDeliveryDate);
+        order.setNotes(notes);
+        order.setCreatedAt(createdAt);
+        order.setUpdatedAt(updatedAt);
+        order.setVersion(version);
+        return order;
+    }
+}
@@ -1,18 +1,27 @@
 package com.vehicle.order.model;
 
+import com.vehicle.common.persistence.Versioned;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_order_number", columnList = "order_number"),
+        @Index(name = "idx_orders_customer_id", columnList = "customer_id"),
+        @Index(name = "idx_orders_vehicle_vin", columnList = "vehicle_vin"),
+        @Index(name = "idx_orders_status", columnList = "status"),
+        @Index(name = "idx_orders_status_updated_at", columnList = "status, updated_at")
+})
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class Order {
+public class Order implements Versioned {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -32,6 +41,8 @@ public class Order {
     
     @Enumerated(EnumType.STRING)
     private OrderStatus status;
+    // Why the order placement saga moved the order to its current status, e.g. a cancellation cause
+    private String statusReason;
     
     private String deliveryAddress;
     private LocalDateTime orderDate;
@@ -42,6 +53,9 @@ public class Order {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    @Version
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -0,0 +1,21 @@
+package com.vehicle.order.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Next vehicle-events offset to apply per partition, committed together with the views it produced
+@Entity
+@Table(name = "vehicle_projection_offsets")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VehicleProjectionOffset {
+    @Id
+    private Integer partitionId;
+
+    private Long nextOffset;
+}
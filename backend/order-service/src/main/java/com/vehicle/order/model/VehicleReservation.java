@@ -0,0 +1,26 @@
+package com.vehicle.order.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// At most one open order holds a VIN; the primary key enforces it, as OrderPlacementSaga only ever inserts these
+@Entity
+@Table(name = "vehicle_reservations",
+        indexes = @Index(name = "idx_vehicle_reservations_reserved_at", columnList = "reserved_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VehicleReservation {
+    @Id
+    private String vin;
+
+    private Long orderId;
+    private LocalDateTime reservedAt;
+}
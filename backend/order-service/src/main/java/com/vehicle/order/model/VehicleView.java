@@ -0,0 +1,38 @@
+package com.vehicle.order.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Latest known state of a vehicle, projected from vehicle-events so orders never call vehicle-service
+@Entity
+@Table(name = "vehicle_views")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VehicleView {
+    @Id
+    private String vin;
+
+    private String make;
+    private String model;
+
+    @Column(name = "vehicle_year")
+    private Integer year;
+
+    private String color;
+    private Double price;
+    private String status;
+
+    // Position of the event this state came from; older redeliveries are ignored
+    private Integer sourcePartition;
+    private Long sourceOffset;
+
+    private LocalDateTime updatedAt;
+}
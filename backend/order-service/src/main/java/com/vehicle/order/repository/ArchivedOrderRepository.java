@@ -0,0 +1,22 @@
+package com.vehicle.order.repository;
+
+import com.vehicle.order.model.ArchivedOrder;
+import com.vehicle.order.repository.OrderRepository.OrderFacts;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ArchivedOrderRepository extends JpaRepository<ArchivedOrder, Long> {
+    Optional<ArchivedOrder> findByOrderNumber(String orderNumber);
+
+    @Query("select a.id as id, a.vehicleMake as vehicleMake, a.vehicleModel as vehicleModel, a.status as status, "
+            + "a.totalPrice as totalPrice, a.depositAmount as depositAmount, a.orderDate as orderDate "
+            + "from ArchivedOrder a where a.id > :afterId order by a.id")
+    List<OrderFacts> findFactsAfter(@Param("afterId") Long afterId, Pageable pageable);
+}
@@ -2,9 +2,13 @@ package com.vehicle.order.repository;
 
 import com.vehicle.order.model.Order;
 import com.vehicle.order.model.OrderStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,4 +18,26 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     List<Order> findByCustomerId(String customerId);
     List<Order> findByStatus(OrderStatus status);
     List<Order> findByVehicleVin(String vehicleVin);
+
+    // Orders in the given status whose vehicle reservation is older than the cutoff; the join goes from the status
+    // index to the reservation's primary key
+    @Query("select o from Order o join VehicleReservation r on r.vin = o.vehicleVin and r.orderId = o.id "
+            + "where o.status = :status and r.reservedAt < :cutoff")
+    List<Order> findReservedBefore(@Param("status") OrderStatus status, @Param("cutoff") LocalDateTime cutoff);
+
+    // Only the columns order analytics keeps, so a rebuild never reads customer details
+    @Query("select o.id as id, o.vehicleMake as vehicleMake, o.vehicleModel as vehicleModel, o.status as status, "
+            + "o.totalPrice as totalPrice, o.depositAmount as depositAmount, o.orderDate as orderDate "
+            + "from Order o where o.id > :afterId order by o.id")
+    List<OrderFacts> findFactsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    interface OrderFacts {
+        Long getId();
+        String getVehicleMake();
+        String getVehicleModel();
+        OrderStatus getStatus();
+        Double getTotalPrice();
+        Double getDepositAmount();
+        LocalDateTime getOrderDate();
+    }
 }
@@ -0,0 +1,9 @@
+package com.vehicle.order.repository;
+
+import com.vehicle.order.model.VehicleProjectionOffset;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface VehicleProjectionOffsetRepository extends JpaRepository<VehicleProjectionOffset, Integer> {
+}
@@ -0,0 +1,80 @@
+package com.vehicle.order.service;
+
+import com.vehicle.order.model.OrderStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Moves orders that can no longer change out of the orders table once they have been finished for
+// order.archive.after, so the hot table and every status and customer scan over it stay bounded by recent activity.
+// Archived orders are still found by order number; OrderAnalyticsEngine keeps counting them.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "order.archive.enabled", havingValue = "true", matchIfMissing = true)
+public class OrderArchiver {
+    private static final List<String> ARCHIVABLE = List.of(OrderStatus.DELIVERED.name(), OrderStatus.REFUNDED.name());
+    private static final String COLUMNS = "id, order_number, customer_id, customer_name, customer_email, "
+            + "customer_phone, vehicle_vin, vehicle_model, vehicle_make, vehicle_year, vehicle_color, total_price, "
+            + "deposit_amount, status, status_reason, delivery_address, order_date, expected_delivery_date, "
+            + "actual_delivery_date, notes, created_at, updated_at, version";
+
+    // Locks the batch so a concurrent update waits and then fails its version check instead of being lost
+    private static final String SELECT_BATCH_SQL = "select id from orders where status in (:statuses) "
+            + "and updated_at < :cutoff order by id fetch first :limit rows only for update";
+    private static final String COPY_SQL = "insert into orders_archive (" + COLUMNS + ", archive_month, archived_at) "
+            + "select " + COLUMNS + ", extract(year from updated_at) * 100 + extract(month from updated_at), :now "
+            + "from orders where id in (:ids)";
+    private static final String DELETE_SQL = "delete from orders where id in (:ids)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${order.archive.after:90d}")
+    private Duration archiveAfter;
+
+    @Value("${order.archive.batch-size:1000}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${order.archive.interval-ms:3600000}")
+    public void archive() {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minus(archiveAfter));
+        long archived = 0;
+        int moved;
+        // One transaction per batch keeps lock time short while the sweep works through a large backlog
+        do {
+            moved = transactionTemplate.execute(status -> archiveBatch(cutoff));
+            archived += moved;
+        } while (moved == batchSize);
+        if (archived > 0) {
+            log.info("Archived {} orders finished before {}", archived, cutoff);
+        }
+    }
+
+    private int archiveBatch(Timestamp cutoff) {
+        List<Long> ids = jdbcTemplate.queryForList(SELECT_BATCH_SQL, new MapSqlParameterSource()
+                .addValue("statuses", ARCHIVABLE)
+                .addValue("cutoff", cutoff)
+                .addValue("limit", batchSize), Long.class);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        MapSqlParameterSource batch = new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("now", Timestamp.valueOf(LocalDateTime.now()));
+        jdbcTemplate.update(COPY_SQL, batch);
+        jdbcTemplate.update(DELETE_SQL, batch);
+        return ids.size();
+    }
+}
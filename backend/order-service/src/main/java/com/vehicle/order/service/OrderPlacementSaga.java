@@ -0,0 +1,188 @@
+package com.vehicle.order.service;
+
+import com.vehicle.order.analytics.OrderAnalyticsEngine;
+import com.vehicle.order.exception.OrderChangeNotAllowedException;
+import com.vehicle.order.exception.VehicleUnavailableException;
+import com.vehicle.order.kafka.OrderEventProducer;
+import com.vehicle.order.model.Order;
+import com.vehicle.order.model.OrderStatus;
+import com.vehicle.order.model.VehicleReservation;
+import com.vehicle.order.model.VehicleView;
+import com.vehicle.order.repository.OrderRepository;
+import com.vehicle.order.repository.VehicleReservationRepository;
+import com.vehicle.order.repository.VehicleViewRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+
+// Drives an order from PENDING through CONFIRMED and IN_PRODUCTION as its vehicle changes in the local projection.
+// Placing an order reserves the VIN locally; cancellation releases it and is published on order-events so
+// other services can undo their own holds.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderPlacementSaga {
+    private static final Set<OrderStatus> TERMINAL =
+            EnumSet.of(OrderStatus.DELIVERED, OrderStatus.CANCELLED, OrderStatus.REFUNDED);
+    // Vehicle states in which it already belongs to a customer
+    private static final Set<String> SOLD = Set.of("SHIPPED", "DELIVERED", "IN_SERVICE", "MAINTENANCE_REQUIRED");
+
+    private final OrderRepository orderRepository;
+    private final VehicleViewRepository vehicleViews;
+    private final VehicleReservationRepository reservations;
+    private final OrderEventProducer eventProducer;
+    private final OrderAnalyticsEngine orderAnalytics;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${order.saga.vehicle-timeout:15m}")
+    private Duration vehicleTimeout;
+
+    // Rejects orders for vehicles the local projection already knows to be taken; runs before the order is saved
+    public void validate(Order order) {
+        String vin = order.getVehicleVin();
+        if (order.getStatus() != OrderStatus.PENDING || vin == null) {
+            return;
+        }
+        if (reservations.existsById(vin)) {
+            throw new VehicleUnavailableException("Vehicle " + vin + " is already reserved by another order");
+        }
+        vehicleViews.findById(vin)
+                .filter(view -> "RETIRED".equals(view.getStatus()) || SOLD.contains(view.getStatus()))
+                .ifPresent(view -> {
+                    throw new VehicleUnavailableException("Vehicle " + vin + " is " + view.getStatus());
+                });
+    }
+
+    // Runs in the transaction that saves the order
+    public void start(Order order) {
+        String vin = order.getVehicleVin();
+        if (order.getStatus() != OrderStatus.PENDING || vin == null) {
+            return;
+        }
+        reserve(order, vin);
+        eventProducer.sendOrderStatusChangedEvent(order);
+        // Deliberate shortcut: the projection is built from vehicle-events, so a VIN it already knows has had the
+        // event the saga waits for. Applying it here moves the order on within the create request, e.g. to
+        // IN_PRODUCTION for a vehicle still being built, and each step is still published on order-events. A vehicle
+        // may not change again for days, so waiting for its next event would leave the order to the timeout sweep.
+        // Unknown VINs wait for the vehicle's first event or the sweep.
+        vehicleViews.findById(vin).ifPresent(view -> apply(order, view.getStatus()));
+    }
+
+    // Called by VehicleProjection inside the transaction that applies the vehicle event
+    public void onVehicleChanged(VehicleView view) {
+        reservedOrder(view.getVin()).ifPresent(order -> apply(order, view.getStatus()));
+    }
+
+    public void onVehicleRemoved(String vin) {
+        reservedOrder(vin).ifPresent(order ->
+                transition(order, OrderStatus.CANCELLED, "Vehicle " + vin + " was removed"));
+    }
+
+    // The one status change a client can make; everything else follows the vehicle
+    public void cancel(Order order) {
+        if (TERMINAL.contains(order.getStatus())) {
+            throw new OrderChangeNotAllowedException("Order " + order.getOrderNumber() + " is already "
+                    + order.getStatus());
+        }
+        transition(order, OrderStatus.CANCELLED, "Cancelled on request");
+    }
+
+    public void onDeleted(Order order) {
+        release(order);
+    }
+
+    private Optional<Order> reservedOrder(String vin) {
+        return reservations.findById(vin).flatMap(reservation -> orderRepository.findById(reservation.getOrderId()));
+    }
+
+    @Scheduled(fixedDelayString = "${order.saga.sweep-interval-ms:60000}")
+    @Transactional
+    public void cancelUnconfirmed() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(vehicleTimeout);
+        // Confirmed orders keep their reservation until they finish, so only PENDING ones are read back
+        for (Order order : orderRepository.findReservedBefore(OrderStatus.PENDING, cutoff)) {
+            transition(order, OrderStatus.CANCELLED,
+                    "Vehicle " + order.getVehicleVin() + " was not confirmed within " + vehicleTimeout);
+        }
+    }
+
+    // Orders only move forward; redelivered or out-of-date vehicle events leave them where they are
+    private void apply(Order order, String vehicleStatus) {
+        if (TERMINAL.contains(order.getStatus()) || vehicleStatus == null) {
+            return;
+        }
+        if ("RETIRED".equals(vehicleStatus)) {
+            transition(order, OrderStatus.CANCELLED, "Vehicle " + order.getVehicleVin() + " was retired");
+            return;
+        }
+        if (order.getStatus() == OrderStatus.PENDING) {
+            if (SOLD.contains(vehicleStatus)) {
+                transition(order, OrderStatus.CANCELLED,
+                        "Vehicle " + order.getVehicleVin() + " is no longer available");
+                return;
+            }
+            transition(order, OrderStatus.CONFIRMED, null);
+        }
+        OrderStatus target = switch (vehicleStatus) {
+            case "IN_PRODUCTION", "QUALITY_CHECK" -> OrderStatus.IN_PRODUCTION;
+            case "READY_FOR_DELIVERY" -> OrderStatus.READY_FOR_DELIVERY;
+            case "SHIPPED" -> OrderStatus.OUT_FOR_DELIVERY;
+            case "DELIVERED" -> OrderStatus.DELIVERED;
+            default -> OrderStatus.CONFIRMED;
+        };
+        if (target.ordinal() > order.getStatus().ordinal()) {
+            transition(order, target, null);
+        }
+    }
+
+    private void transition(Order order, OrderStatus status, String reason) {
+        log.info("Order {} moves from {} to {}{}", order.getOrderNumber(), order.getStatus(), status,
+                reason == null ? "" : ": " + reason);
+        order.setStatus(status);
+        order.setStatusReason(reason);
+        if (status == OrderStatus.DELIVERED) {
+            order.setActualDeliveryDate(LocalDateTime.now());
+        }
+        if (TERMINAL.contains(status)) {
+            release(order);
+        }
+        eventProducer.sendOrderStatusChangedEvent(order);
+        orderAnalytics.onOrderSaved(order);
+    }
+
+    // validate() only sees reservations that had committed when it ran. Persist always inserts, where save would merge
+    // into a reservation another order committed since, so a race for the VIN ends on the primary key. Flushing
+    // here keeps that failure apart from the order's own insert, which OrderService has already flushed.
+    private void reserve(Order order, String vin) {
+        try {
+            entityManager.persist(new VehicleReservation(vin, order.getId(), LocalDateTime.now()));
+            entityManager.flush();
+        } catch (PersistenceException e) {
+            throw new VehicleUnavailableException("Vehicle " + vin + " is already reserved by another order");
+        }
+    }
+
+    private void release(Order order) {
+        if (order.getVehicleVin() == null) {
+            return;
+        }
+        reservations.findById(order.getVehicleVin())
+                .filter(reservation -> reservation.getOrderId().equals(order.getId()))
+                .ifPresent(reservations::delete);
+    }
+}
@@ -1,39 +1,85 @@
 package com.vehicle.order.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vehicle.common.persistence.FieldProjectionRepository;
+import com.vehicle.common.persistence.VersionedEntities;
+import com.vehicle.order.analytics.OrderAnalyticsEngine;
+import com.vehicle.order.dto.OrderAnalytics;
+import com.vehicle.order.dto.OrderAnalyticsQuery;
+import com.vehicle.order.exception.OrderChangeNotAllowedException;
+import com.vehicle.order.model.ArchivedOrder;
 import com.vehicle.order.model.Order;
 import com.vehicle.order.model.OrderStatus;
+import com.vehicle.order.repository.ArchivedOrderRepository;
 import com.vehicle.order.repository.OrderRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class OrderService {
     private final OrderRepository orderRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final FieldProjectionRepository fieldProjections;
+    private final OrderPlacementSaga placementSaga;
+    private final VehicleProjection vehicleProjection;
+    private final OrderAnalyticsEngine orderAnalytics;
+    private final ObjectMapper objectMapper;
+
+    private static final String ENTITY_NAME = "Order";
+    // Fields a full update replaces; a merge patch may set any subset of them. The VIN is fixed once the saga has
+    // reserved it, the vehicle details come from the projection, and status only accepts a cancellation.
+    private static final Set<String> UPDATABLE_FIELDS = Set.of("customerName", "customerEmail", "customerPhone",
+            "totalPrice", "depositAmount", "status", "deliveryAddress", "expectedDeliveryDate", "notes");
 
     @Transactional
     public Order createOrder(Order order) {
         log.info("Creating order: {}", order.getOrderNumber());
-        return orderRepository.save(order);
+        // Every order enters the saga as PENDING, whatever status the client sent
+        order.setStatus(OrderStatus.PENDING);
+        order.setStatusReason(null);
+        placementSaga.validate(order);
+        // Vehicle details come from the local projection when it knows the VIN, not from the client
+        vehicleProjection.find(order.getVehicleVin()).ifPresent(vehicle -> {
+            order.setVehicleMake(vehicle.getMake());
+            order.setVehicleModel(vehicle.getModel());
+            order.setVehicleYear(vehicle.getYear());
+            order.setVehicleColor(vehicle.getColor());
+            if (order.getTotalPrice() == null) {
+                order.setTotalPrice(vehicle.getPrice());
+            }
+        });
+        Order savedOrder = orderRepository.saveAndFlush(order);
+        placementSaga.start(savedOrder);
+        orderAnalytics.onOrderSaved(savedOrder);
+        return savedOrder;
     }
 
     public List<Order> getAllOrders() {
         return orderRepository.findAll();
     }
 
+    public List<Map<String, Object>> getOrderFields(List<String> fields, Map<String, ?> filter) {
+        return fieldProjections.findFields(Order.class, fields, filter);
+    }
+
     public Optional<Order> getOrderById(Long id) {
         return orderRepository.findById(id);
     }
 
+    // Falls back to the archive for orders OrderArchiver has moved out of the orders table
     public Optional<Order> getOrderByNumber(String orderNumber) {
-        return orderRepository.findByOrderNumber(orderNumber);
+        return orderRepository.findByOrderNumber(orderNumber)
+                .or(() -> archivedOrderRepository.findByOrderNumber(orderNumber).map(ArchivedOrder::toOrder));
     }
 
     public List<Order> getOrdersByCustomerId(String customerId) {
@@ -45,47 +91,91 @@ public class OrderService {
     }
 
     @Transactional
-    public Order updateOrder(Long id, Order orderDetails) {
+    public Order updateOrder(Long id, Order orderDetails, Long expectedVersion) {
         log.info("Updating order with ID: {}", id);
-        Order order = orderRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Order not found with id: " + id));
+        Order order = findOrder(id, expectedVersion);
+        if (orderDetails.getVehicleVin() != null && !orderDetails.getVehicleVin().equals(order.getVehicleVin())) {
+            throw new OrderChangeNotAllowedException("The vehicle of order " + id
+                    + " cannot be changed; cancel it and place a new order");
+        }
 
         order.setCustomerName(orderDetails.getCustomerName());
         order.setCustomerEmail(orderDetails.getCustomerEmail());
         order.setCustomerPhone(orderDetails.getCustomerPhone());
-        order.setVehicleVin(orderDetails.getVehicleVin());
-        order.setVehicleModel(orderDetails.getVehicleModel());
-        order.setVehicleMake(orderDetails.getVehicleMake());
-        order.setVehicleYear(orderDetails.getVehicleYear());
-        order.setVehicleColor(orderDetails.getVehicleColor());
         order.setTotalPrice(orderDetails.getTotalPrice());
         order.setDepositAmount(orderDetails.getDepositAmount());
-        order.setStatus(orderDetails.getStatus());
         order.setDeliveryAddress(orderDetails.getDeliveryAddress());
         order.setExpectedDeliveryDate(orderDetails.getExpectedDeliveryDate());
         order.setNotes(orderDetails.getNotes());
 
-        return orderRepository.save(order);
+        requestStatus(order, orderDetails.getStatus());
+        Order saved = flush(order);
+        orderAnalytics.onOrderSaved(saved);
+        return saved;
     }
 
+    // JSON Merge Patch (RFC 7386): members present in the patch replace the stored values and null clears them,
+    // everything else is left as it is
     @Transactional
-    public Order updateOrderStatus(Long id, OrderStatus status) {
+    public Order patchOrder(Long id, JsonNode patch, Long expectedVersion) {
+        log.info("Patching order with ID: {}", id);
+        Order order = findOrder(id, expectedVersion);
+        OrderStatus previousStatus = order.getStatus();
+        applyPatch(order, patch);
+        OrderStatus requestedStatus = order.getStatus();
+        order.setStatus(previousStatus);
+
+        requestStatus(order, requestedStatus);
+        Order saved = flush(order);
+        orderAnalytics.onOrderSaved(saved);
+        return saved;
+    }
+
+    @Transactional
+    public Order updateOrderStatus(Long id, OrderStatus status, Long expectedVersion) {
         log.info("Updating order status to {} for ID: {}", status, id);
-        Order order = orderRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Order not found with id: " + id));
-        
-        order.setStatus(status);
-        
-        if (status == OrderStatus.DELIVERED) {
-            order.setActualDeliveryDate(LocalDateTime.now());
-        }
+        Order order = findOrder(id, expectedVersion);
 
-        return orderRepository.save(order);
+        requestStatus(order, status);
+        Order saved = flush(order);
+        orderAnalytics.onOrderSaved(saved);
+        return saved;
     }
 
     @Transactional
     public void deleteOrder(Long id) {
         log.info("Deleting order with ID: {}", id);
+        orderRepository.findById(id).ifPresent(placementSaga::onDeleted);
         orderRepository.deleteById(id);
+        orderAnalytics.onOrderDeleted(id);
+    }
+
+    public OrderAnalytics getAnalytics(OrderAnalyticsQuery query) {
+        return orderAnalytics.query(query);
+    }
+
+    private Order findOrder(Long id, Long expectedVersion) {
+        return VersionedEntities.find(orderRepository, ENTITY_NAME, id, expectedVersion);
+    }
+
+    // An order's status follows its vehicle, so the only change a client can ask for is a cancellation
+    private void requestStatus(Order order, OrderStatus requested) {
+        if (requested == null || requested == order.getStatus()) {
+            return;
+        }
+        if (requested != OrderStatus.CANCELLED) {
+            throw new OrderChangeNotAllowedException("Order " + order.getId() + " follows its vehicle and can only be "
+                    + "cancelled, not moved to " + requested);
+        }
+        placementSaga.cancel(order);
+    }
+
+    private void applyPatch(Order order, JsonNode patch) {
+        VersionedEntities.applyPatch(objectMapper, order, patch, UPDATABLE_FIELDS);
+    }
+
+    // On a conflict the saga's writes in the same transaction roll back with the order
+    private Order flush(Order order) {
+        return VersionedEntities.flush(orderRepository, ENTITY_NAME, order);
     }
 }
@@ -0,0 +1,114 @@
+package com.vehicle.order.service;
+
+import com.vehicle.order.dto.VehicleEventMessage;
+import com.vehicle.order.kafka.VehicleEventDecoder;
+import com.vehicle.order.model.VehicleProjectionOffset;
+import com.vehicle.order.model.VehicleView;
+import com.vehicle.order.repository.VehicleProjectionOffsetRepository;
+import com.vehicle.order.repository.VehicleViewRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.AvroRuntimeException;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// Local read model of vehicles built from vehicle-events. Views and the per-partition offsets they reflect are
+// committed in one transaction, so after a restart consumption resumes exactly where the stored state ends and
+// redelivered records are skipped.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class VehicleProjection {
+    private final VehicleViewRepository vehicleViews;
+    private final VehicleProjectionOffsetRepository offsets;
+    private final OrderPlacementSaga placementSaga;
+    private final VehicleEventDecoder eventDecoder;
+
+    public Optional<VehicleView> find(String vin) {
+        return vin == null ? Optional.empty() : vehicleViews.findById(vin);
+    }
+
+    public Map<Integer, Long> nextOffsets() {
+        Map<Integer, Long> next = new HashMap<>();
+        offsets.findAll().forEach(offset -> next.put(offset.getPartitionId(), offset.getNextOffset()));
+        return next;
+    }
+
+    // Records arrive in offset order per partition; within a batch a VIN's events are applied in sequence
+    @Transactional
+    public void apply(List<ConsumerRecord<String, byte[]>> records) {
+        Map<Integer, Long> next = nextOffsets();
+        Map<Integer, Long> advanced = new HashMap<>();
+        for (ConsumerRecord<String, byte[]> record : records) {
+            Long expected = next.get(record.partition());
+            if (expected != null && record.offset() < expected) {
+                continue;
+            }
+            applyRecord(record);
+            next.put(record.partition(), record.offset() + 1);
+            advanced.put(record.partition(), record.offset() + 1);
+        }
+        advanced.forEach((partition, offset) -> offsets.save(new VehicleProjectionOffset(partition, offset)));
+    }
+
+    private void applyRecord(ConsumerRecord<String, byte[]> record) {
+        VehicleEventMessage message;
+        try {
+            message = eventDecoder.decode(record.value());
+        } catch (IOException | AvroRuntimeException e) {
+            log.error("Skipping unreadable vehicle event at {}-{}@{}", record.topic(), record.partition(),
+                    record.offset(), e);
+            return;
+        }
+        String vin = message.vin();
+        if (vin == null) {
+            return;
+        }
+
+        VehicleView view = vehicleViews.findById(vin).orElse(null);
+        if (view != null && isStale(view, record)) {
+            return;
+        }
+        if ("VEHICLE_DELETED".equals(message.eventType())) {
+            if (view != null) {
+                vehicleViews.delete(view);
+            }
+            placementSaga.onVehicleRemoved(vin);
+            return;
+        }
+        if (view == null) {
+            view = new VehicleView();
+            view.setVin(vin);
+        }
+        VehicleEventMessage.Vehicle vehicle = message.vehicle();
+        if (vehicle != null) {
+            view.setMake(vehicle.make());
+            view.setModel(vehicle.model());
+            view.setYear(vehicle.year());
+            view.setColor(vehicle.color());
+            view.setPrice(vehicle.price());
+            view.setStatus(vehicle.status());
+        } else {
+            // Status deltas leave the rest of the view as it was
+            view.setStatus(message.statusChange().status());
+        }
+        view.setSourcePartition(record.partition());
+        view.setSourceOffset(record.offset());
+        view.setUpdatedAt(LocalDateTime.now());
+        vehicleViews.save(view);
+        placementSaga.onVehicleChanged(view);
+    }
+
+    private static boolean isStale(VehicleView view, ConsumerRecord<String, byte[]> record) {
+        return view.getSourcePartition() != null && view.getSourcePartition() == record.partition()
+                && view.getSourceOffset() >= record.offset();
+    }
+}
@@ -0,0 +1,96 @@
+package com.vehicle.order.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vehicle.order.model.VehicleProjectionOffset;
+import com.vehicle.order.model.VehicleView;
+import com.vehicle.order.repository.VehicleProjectionOffsetRepository;
+import com.vehicle.order.repository.VehicleViewRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// Periodic gzip snapshots of the vehicle projection. A new instance, or one whose database was lost, restores the
+// latest snapshot before the listeners start and only replays vehicle-events from the snapshot's offsets onwards
+// instead of the whole topic.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class VehicleProjectionSnapshots {
+    private final VehicleViewRepository vehicleViews;
+    private final VehicleProjectionOffsetRepository offsets;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${order.vehicle-projection.snapshot-path:./data/vehicle-projection.json.gz}")
+    private Path snapshotPath;
+
+    @Value("${order.vehicle-projection.snapshot-enabled:true}")
+    private boolean enabled;
+
+    // Listener containers start after the context is refreshed, so this always runs before the first poll
+    @PostConstruct
+    public void restore() {
+        if (!enabled || !Files.exists(snapshotPath) || offsets.count() > 0) {
+            return;
+        }
+        Snapshot snapshot;
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(snapshotPath))) {
+            snapshot = objectMapper.readValue(in, Snapshot.class);
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable vehicle projection snapshot {}; rebuilding from the topic", snapshotPath, e);
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            vehicleViews.saveAll(snapshot.views());
+            snapshot.offsets().forEach((partition, next) ->
+                    offsets.save(new VehicleProjectionOffset(partition, next)));
+        });
+        log.info("Restored {} vehicle views from snapshot {}", snapshot.views().size(), snapshotPath);
+    }
+
+    // Offsets are read before views, so a snapshot never claims events its views do not reflect;
+    // views that are newer than the offsets are skipped as stale when the gap is replayed
+    @Scheduled(fixedDelayString = "${order.vehicle-projection.snapshot-interval-ms:300000}")
+    public void write() {
+        if (!enabled) {
+            return;
+        }
+        Snapshot snapshot = transactionTemplate.execute(status -> {
+            Map<Integer, Long> next = new HashMap<>();
+            offsets.findAll().forEach(offset -> next.put(offset.getPartitionId(), offset.getNextOffset()));
+            return new Snapshot(next, vehicleViews.findAll());
+        });
+        if (snapshot == null || snapshot.offsets().isEmpty()) {
+            return;
+        }
+        try {
+            Files.createDirectories(snapshotPath.toAbsolutePath().getParent());
+            Path temp = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(temp))) {
+                objectMapper.writeValue(out, snapshot);
+            }
+            Files.move(temp, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Wrote {} vehicle views to snapshot {}", snapshot.views().size(), snapshotPath);
+        } catch (IOException e) {
+            log.error("Failed to write vehicle projection snapshot {}", snapshotPath, e);
+        }
+    }
+
+    public record Snapshot(Map<Integer, Long> offsets, List<VehicleView> views) {}
+}
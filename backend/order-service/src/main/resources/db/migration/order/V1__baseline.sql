@@ -0,0 +1,28 @@
+create table orders (
+    id                     bigint generated by default as identity primary key,
+    order_number           varchar(255),
+    customer_id            varchar(255),
+    customer_name          varchar(255),
+    customer_email         varchar(255),
+    customer_phone         varchar(255),
+    vehicle_vin            varchar(255),
+    vehicle_model          varchar(255),
+    vehicle_make           varchar(255),
+    vehicle_year           integer,
+    vehicle_color          varchar(255),
+    total_price            double precision,
+    deposit_amount         double precision,
+    status                 varchar(32),
+    delivery_address       varchar(255),
+    order_date             timestamp(6),
+    expected_delivery_date timestamp(6),
+    actual_delivery_date   timestamp(6),
+    notes                  varchar(255),
+    created_at             timestamp(6),
+    updated_at             timestamp(6)
+);
+
+create index idx_orders_order_number on orders (order_number);
+create index idx_orders_customer_id on orders (customer_id);
+create index idx_orders_vehicle_vin on orders (vehicle_vin);
+create index idx_orders_status on orders (status);
@@ -0,0 +1,24 @@
+alter table orders add column status_reason varchar(255);
+
+create table vehicle_views (
+    vin        varchar(255) not null primary key,
+    status     varchar(32),
+    updated_at timestamp(6)
+);
+
+create table vehicle_reservations (
+    vin         varchar(255) not null primary key,
+    order_id    bigint,
+    reserved_at timestamp(6)
+);
+
+create index idx_vehicle_reservations_reserved_at on vehicle_reservations (reserved_at);
+
+create table event_outbox (
+    id          bigint generated by default as identity primary key,
+    topic       varchar(255),
+    message_key varchar(255),
+    event_type  varchar(255),
+    payload     clob,
+    created_at  timestamp(6)
+);
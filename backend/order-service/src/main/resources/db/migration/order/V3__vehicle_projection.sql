@@ -0,0 +1,12 @@
+alter table vehicle_views add column make varchar(255);
+alter table vehicle_views add column model varchar(255);
+alter table vehicle_views add column vehicle_year integer;
+alter table vehicle_views add column color varchar(255);
+alter table vehicle_views add column price double precision;
+alter table vehicle_views add column source_partition integer;
+alter table vehicle_views add column source_offset bigint;
+
+create table vehicle_projection_offsets (
+    partition_id integer not null primary key,
+    next_offset  bigint
+);
@@ -0,0 +1,34 @@
+-- Finished orders moved out of the hot table by OrderArchiver, keyed by their original id
+create table orders_archive (
+    id                     bigint not null primary key,
+    order_number           varchar(255),
+    customer_id            varchar(255),
+    customer_name          varchar(255),
+    customer_email         varchar(255),
+    customer_phone         varchar(255),
+    vehicle_vin            varchar(255),
+    vehicle_model          varchar(255),
+    vehicle_make           varchar(255),
+    vehicle_year           integer,
+    vehicle_color          varchar(255),
+    total_price            double precision,
+    deposit_amount         double precision,
+    status                 varchar(32),
+    status_reason          varchar(255),
+    delivery_address       varchar(255),
+    order_date             timestamp(6),
+    expected_delivery_date timestamp(6),
+    actual_delivery_date   timestamp(6),
+    notes                  varchar(255),
+    created_at             timestamp(6),
+    updated_at             timestamp(6),
+    version                bigint,
+    archive_month          integer,
+    archived_at            timestamp(6)
+);
+
+create index idx_orders_archive_order_number on orders_archive (order_number);
+create index idx_orders_archive_month on orders_archive (archive_month);
+
+-- The archiver looks for old finished orders by status and age
+create index idx_orders_status_updated_at on orders (status, updated_at);
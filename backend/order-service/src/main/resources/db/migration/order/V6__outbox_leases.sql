@@ -0,0 +1,8 @@
+-- Outbox payloads are the encoded event bytes, as in the other services, so the shared relay can send them as is
+alter table event_outbox add column payload_bytes blob;
+update event_outbox set payload_bytes = stringtoutf8(payload);
+alter table event_outbox drop column payload;
+alter table event_outbox alter column payload_bytes rename to payload;
+
+-- Set while the outbox relay holds an event for sending, so concurrent relays claim disjoint batches
+alter table event_outbox add column locked_until timestamp(6);
@@ -0,0 +1,61 @@
+package com.vehicle.order.repository;
+
+import com.vehicle.common.persistence.QueryPlanGuard;
+import com.vehicle.order.model.OrderStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+// Runs every finder against the Flyway schema filled with synthetic rows, so dropping an index from a migration fails
+// the build. Orders belong to 100000 customers; archival is off so the rows stay put.
+@SpringBootTest(properties = {
+        "eureka.client.enabled=false",
+        "spring.kafka.admin.auto-create=false",
+        "spring.kafka.listener.auto-startup=false",
+        "order.vehicle-projection.snapshot-enabled=false",
+        "order.archive.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:order-plan;DB_CLOSE_DELAY=-1",
+        QueryPlanGuard.STATEMENT_INSPECTOR})
+@ActiveProfiles("production")
+class RepositoryQueryPlanTest {
+    private static final int ROWS = 10_000;
+    private static final int MIN_ROWS = 1_000;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private OrderRepository orders;
+
+    @Test
+    void findersUseIndexes() {
+        jdbc.update("""
+                insert into orders (id, order_number, customer_id, customer_name, vehicle_vin, vehicle_make,
+                                    vehicle_model, vehicle_year, total_price, deposit_amount, status,
+                                    order_date, created_at, updated_at, version)
+                select x, 'ORD-' || x, 'CUST-' || mod(x, 100000), 'Customer ' || mod(x, 100000),
+                       'SYN' || lpad(cast(x as varchar), 14, '0'), 'MAKE-' || mod(x, 1000),
+                       'MODEL-' || mod(x, 10000), 1995 + mod(x, 30), 42000, 2500 * mod(x, 5), 'CONFIRMED',
+                       current_timestamp, current_timestamp, current_timestamp, 0
+                from system_range(1, ?)
+                """, ROWS);
+        jdbc.update("insert into vehicle_reservations (vin, order_id, reserved_at) "
+                + "select vehicle_vin, id, created_at from orders");
+
+        QueryPlanGuard guard = new QueryPlanGuard(jdbc, MIN_ROWS);
+        guard.check("OrderRepository.findByOrderNumber", () -> orders.findByOrderNumber("ORD-1"), "ORD-1");
+        guard.check("OrderRepository.findByCustomerId", () -> orders.findByCustomerId("CUST-1"), "CUST-1");
+        guard.check("OrderRepository.findByStatus", () -> orders.findByStatus(OrderStatus.CONFIRMED),
+                OrderStatus.CONFIRMED);
+        guard.check("OrderRepository.findByVehicleVin", () -> orders.findByVehicleVin("SYN00000000000001"),
+                "SYN00000000000001");
+        guard.check("OrderRepository.findReservedBefore",
+                () -> orders.findReservedBefore(OrderStatus.PENDING, LocalDateTime.now()), OrderStatus.PENDING,
+                LocalDateTime.now());
+        guard.assertNoTableScans();
+    }
+}
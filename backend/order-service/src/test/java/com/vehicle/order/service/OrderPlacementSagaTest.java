@@ -0,0 +1,171 @@
+package com.vehicle.order.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vehicle.order.exception.VehicleUnavailableException;
+import com.vehicle.order.model.Order;
+import com.vehicle.order.model.OrderStatus;
+import com.vehicle.order.repository.OrderRepository;
+import com.vehicle.order.repository.VehicleReservationRepository;
+import com.vehicle.order.repository.VehicleViewRepository;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+// Runs the placement saga against a real broker: vehicle events come in on vehicle-events, and the order's status
+// changes go out on order-events through the outbox relay
+@SpringBootTest(properties = {
+        "eureka.client.enabled=false",
+        "order.vehicle-projection.snapshot-enabled=false",
+        "order.saga.vehicle-timeout=5s",
+        "order.saga.sweep-interval-ms=500",
+        "outbox.relay.interval-ms=100"})
+@EmbeddedKafka(partitions = 1, topics = {"vehicle-events", "order-events"},
+        bootstrapServersProperty = "spring.kafka.bootstrap-servers")
+class OrderPlacementSagaTest {
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderPlacementSaga placementSaga;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private VehicleViewRepository vehicleViews;
+
+    @Autowired
+    private VehicleReservationRepository reservations;
+
+    @Autowired
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
+
+    @Autowired
+    private EmbeddedKafkaBroker broker;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void orderFollowsItsVehicleAndIsCancelledWhenTheVehicleIsRetired() throws Exception {
+        awaitConsumer();
+        Order order = orderService.createOrder(order("ORD-SAGA-1", "VIN-SAGA-1"));
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.PENDING);
+        assertThat(reservations.existsById("VIN-SAGA-1")).isTrue();
+
+        sendVehicle("VIN-SAGA-1", "IN_PRODUCTION");
+        awaitStatus(order, OrderStatus.IN_PRODUCTION);
+
+        sendVehicle("VIN-SAGA-1", "RETIRED");
+        Order cancelled = awaitStatus(order, OrderStatus.CANCELLED);
+        assertThat(cancelled.getStatusReason()).contains("retired");
+        assertThat(reservations.existsById("VIN-SAGA-1")).isFalse();
+
+        assertThat(orderEventTypes(order, 4))
+                .containsExactly("ORDER_PENDING", "ORDER_CONFIRMED", "ORDER_IN_PRODUCTION", "ORDER_CANCELLED");
+    }
+
+    @Test
+    void orderIsCancelledWhenItsVehicleIsNotConfirmedInTime() throws Exception {
+        Order order = orderService.createOrder(order("ORD-SAGA-2", "VIN-SAGA-2"));
+
+        Order cancelled = awaitStatus(order, OrderStatus.CANCELLED);
+        assertThat(cancelled.getStatusReason()).contains("not confirmed within");
+        assertThat(reservations.existsById("VIN-SAGA-2")).isFalse();
+
+        assertThat(orderEventTypes(order, 2)).containsExactly("ORDER_PENDING", "ORDER_CANCELLED");
+    }
+
+    // A second order that passed validate() before the first one's reservation committed
+    @Test
+    void reservationRaceForOneVehicleIsAConflict() {
+        Order first = orderService.createOrder(order("ORD-SAGA-3", "VIN-SAGA-3"));
+        Order second = order("ORD-SAGA-4", "VIN-SAGA-3");
+        second.setStatus(OrderStatus.PENDING);
+
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status ->
+                placementSaga.start(orderRepository.saveAndFlush(second))))
+                .isInstanceOf(VehicleUnavailableException.class);
+        assertThat(reservations.findById("VIN-SAGA-3")).hasValueSatisfying(reservation ->
+                assertThat(reservation.getOrderId()).isEqualTo(first.getId()));
+        assertThat(orderRepository.findByOrderNumber("ORD-SAGA-4")).isEmpty();
+    }
+
+    // A vehicle only the projection sees; once it is there the listener is consuming and the saga will react well
+    // within the vehicle timeout
+    private void awaitConsumer() throws Exception {
+        sendVehicle("VIN-SAGA-WARMUP", "IN_PRODUCTION");
+        await().atMost(TIMEOUT).until(() -> vehicleViews.existsById("VIN-SAGA-WARMUP"));
+    }
+
+    private void sendVehicle(String vin, String status) throws Exception {
+        Map<String, Object> vehicle = new LinkedHashMap<>();
+        vehicle.put("vin", vin);
+        vehicle.put("make", "Test");
+        vehicle.put("model", "Saga");
+        vehicle.put("year", 2024);
+        vehicle.put("color", "Blue");
+        vehicle.put("price", 30000.0);
+        vehicle.put("status", status);
+        byte[] payload = objectMapper.writeValueAsBytes(Map.of("eventType", "VEHICLE_UPDATED", "vehicle", vehicle));
+        kafkaTemplate.send("vehicle-events", vin, payload).get();
+    }
+
+    private Order awaitStatus(Order order, OrderStatus status) {
+        return await().atMost(TIMEOUT).until(() -> orderRepository.findById(order.getId()).orElseThrow(),
+                current -> current.getStatus() == status);
+    }
+
+    private List<String> orderEventTypes(Order order, int expected) throws Exception {
+        Map<String, Object> props = KafkaTestUtils.consumerProps("saga-test-" + order.getId(), "false", broker);
+        List<String> types = new ArrayList<>();
+        try (Consumer<String, String> consumer = new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(),
+                new StringDeserializer()).createConsumer()) {
+            broker.consumeFromAnEmbeddedTopic(consumer, "order-events");
+            long deadline = System.nanoTime() + TIMEOUT.toNanos();
+            while (types.size() < expected && System.nanoTime() < deadline) {
+                for (ConsumerRecord<String, String> record : consumer.poll(Duration.ofMillis(500))) {
+                    if (String.valueOf(order.getId()).equals(record.key())) {
+                        types.add(objectMapper.readTree(record.value()).get("eventType").asText());
+                    }
+                }
+            }
+        }
+        return types;
+    }
+
+    private static Order order(String orderNumber, String vin) {
+        Order order = new Order();
+        order.setOrderNumber(orderNumber);
+        order.setCustomerId("CUST-SAGA");
+        order.setCustomerName("Saga Test");
+        order.setVehicleVin(vin);
+        order.setTotalPrice(30000.0);
+        order.setDepositAmount(3000.0);
+        return order;
+    }
+}
@@ -0,0 +1,11 @@
+package com.vehicle.common.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class UnknownFieldException extends RuntimeException {
+    public UnknownFieldException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,20 @@
+package com.vehicle.common.persistence;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+
+@AutoConfiguration(after = HibernateJpaAutoConfiguration.class)
+@ConditionalOnClass(EntityManager.class)
+@ConditionalOnBean(EntityManagerFactory.class)
+public class FieldProjectionAutoConfiguration {
+
+    @Bean
+    public FieldProjectionRepository fieldProjectionRepository(EntityManager entityManager) {
+        return new FieldProjectionRepository(entityManager);
+    }
+}
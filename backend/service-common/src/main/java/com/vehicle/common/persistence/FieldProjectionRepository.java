@@ -0,0 +1,99 @@
+package com.vehicle.common.persistence;
+
+import com.vehicle.common.exception.UnknownFieldException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Sparse fieldsets for any entity: selects only the requested columns as tuples, so no entities are hydrated or
+// snapshotted. Registered by FieldProjectionAutoConfiguration.
+@Repository
+@RequiredArgsConstructor
+public class FieldProjectionRepository {
+    private static final String ID = "id";
+
+    private final EntityManager entityManager;
+
+    public <E> List<Map<String, Object>> findFields(Class<E> entityType, List<String> fields, Map<String, ?> equalTo) {
+        return findFields(entityType, fields, equalTo, null, null);
+    }
+
+    // One keyset page: up to limit rows with an id above afterId, in id order
+    public <E> List<Map<String, Object>> findFieldsAfter(Class<E> entityType, List<String> fields,
+                                                         Map<String, ?> equalTo, long afterId, int limit) {
+        return findFields(entityType, fields, equalTo, afterId, limit);
+    }
+
+    private <E> List<Map<String, Object>> findFields(Class<E> entityType, List<String> fields, Map<String, ?> equalTo,
+                                                     Long afterId, Integer limit) {
+        Set<String> selected = resolveFields(entityType, fields);
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<E> root = query.from(entityType);
+
+        List<Selection<?>> selections = new ArrayList<>(selected.size());
+        selected.forEach(field -> selections.add(root.get(field).alias(field)));
+        List<Predicate> predicates = new ArrayList<>(equalTo.size());
+        equalTo.forEach((field, value) -> predicates.add(cb.equal(root.get(field), value)));
+        if (afterId != null) {
+            predicates.add(cb.greaterThan(root.<Long>get(ID), afterId));
+        }
+        query.multiselect(selections)
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.asc(root.get(ID)));
+
+        TypedQuery<Tuple> typed = entityManager.createQuery(query);
+        if (limit != null) {
+            typed.setMaxResults(limit);
+        }
+        List<Tuple> tuples = typed.getResultList();
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>(selected.size() * 2);
+            for (TupleElement<?> element : tuple.getElements()) {
+                row.put(element.getAlias(), tuple.get(element));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    // The id is always returned so grids can key their rows
+    private <E> Set<String> resolveFields(Class<E> entityType, List<String> fields) {
+        EntityType<E> entity = entityManager.getMetamodel().entity(entityType);
+        Set<String> selected = new LinkedHashSet<>();
+        selected.add(ID);
+        for (String field : fields) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            Attribute<? super E, ?> attribute = entity.getAttributes().stream()
+                    .filter(candidate -> candidate.getName().equals(name))
+                    .findFirst()
+                    .orElseThrow(() -> new UnknownFieldException("Unknown field: " + name));
+            if (attribute.isCollection() || attribute.isAssociation()) {
+                throw new UnknownFieldException("Field cannot be projected: " + name);
+            }
+            selected.add(name);
+        }
+        return selected;
+    }
+}
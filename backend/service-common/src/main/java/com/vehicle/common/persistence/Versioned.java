@@ -0,0 +1,9 @@
+package com.vehicle.common.persistence;
+
+// An entity whose version column is mapped with @Version and exposed to clients as its ETag
+public interface Versioned {
+
+    Long getId();
+
+    Long getVersion();
+}
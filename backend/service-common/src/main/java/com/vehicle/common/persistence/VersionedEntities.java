@@ -0,0 +1,60 @@
+package com.vehicle.common.persistence;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vehicle.common.exception.ConcurrentUpdateException;
+import com.vehicle.common.exception.InvalidPatchException;
+import com.vehicle.common.exception.PreconditionFailedException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.io.IOException;
+import java.util.Set;
+
+// The read-check-write steps behind every conditional update: load at the version the client expects, apply a merge
+// patch limited to the updatable fields, and flush so a lost race surfaces as a conflict. The name is the entity as
+// it appears in error messages, e.g. "Production order".
+public final class VersionedEntities {
+
+    private VersionedEntities() {
+    }
+
+    // A null expected version skips the check, for clients that do not send If-Match
+    public static <T extends Versioned> T find(JpaRepository<T, Long> repository, String name, Long id,
+                                               Long expectedVersion) {
+        T entity = repository.findById(id)
+                .orElseThrow(() -> new RuntimeException(name + " not found with id: " + id));
+        if (expectedVersion != null && !expectedVersion.equals(entity.getVersion())) {
+            throw new PreconditionFailedException(name + " " + id + " is at version " + entity.getVersion()
+                    + ", not " + expectedVersion);
+        }
+        return entity;
+    }
+
+    public static void applyPatch(ObjectMapper objectMapper, Object entity, JsonNode patch,
+                                  Set<String> updatableFields) {
+        if (!patch.isObject()) {
+            throw new InvalidPatchException("A merge patch must be a JSON object");
+        }
+        patch.fieldNames().forEachRemaining(field -> {
+            if (!updatableFields.contains(field)) {
+                throw new InvalidPatchException("Field cannot be patched: " + field);
+            }
+        });
+        try {
+            objectMapper.readerForUpdating(entity).readValue(patch);
+        } catch (IOException e) {
+            throw new InvalidPatchException("Invalid merge patch: " + e.getMessage());
+        }
+    }
+
+    // The version check is part of the UPDATE statement, so a writer that lost the race fails here instead of
+    // waiting on a row lock
+    public static <T extends Versioned> T flush(JpaRepository<T, Long> repository, String name, T entity) {
+        try {
+            return repository.saveAndFlush(entity);
+        } catch (OptimisticLockingFailureException e) {
+            throw new ConcurrentUpdateException(name + " " + entity.getId() + " was modified concurrently");
+        }
+    }
+}
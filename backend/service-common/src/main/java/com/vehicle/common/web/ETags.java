@@ -0,0 +1,31 @@
+package com.vehicle.common.web;
+
+import com.vehicle.common.exception.PreconditionFailedException;
+import org.springframework.http.ResponseEntity;
+
+// Entities are tagged with their row version as a strong ETag; If-Match must echo the tag from an earlier response
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static <T> ResponseEntity<T> ok(T body, Long version) {
+        return ResponseEntity.ok().eTag(String.valueOf(version)).body(body);
+    }
+
+    // No header or "*" means the write is unconditional
+    public static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.valueOf(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException ignored) {
+                // Falls through to the rejection below
+            }
+        }
+        throw new PreconditionFailedException("If-Match " + tag + " does not match the current version");
+    }
+}
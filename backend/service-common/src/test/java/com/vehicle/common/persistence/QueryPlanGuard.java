@@ -0,0 +1,69 @@
+package com.vehicle.common.persistence;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Runs a repository finder, asks H2 for the plan of the SQL Hibernate generated for it and records a violation when
+// the plan scans a table holding at least minRows rows. The service context must register CapturingStatementInspector,
+// which STATEMENT_INSPECTOR does as a @SpringBootTest property.
+public class QueryPlanGuard {
+    public static final String STATEMENT_INSPECTOR = "spring.jpa.properties.hibernate.session_factory"
+            + ".statement_inspector=com.vehicle.common.persistence.QueryPlanGuard$CapturingStatementInspector";
+    private static final Pattern TABLE_SCAN = Pattern.compile("/\\* ([\\w.\"]+)\\.tableScan");
+
+    private final JdbcTemplate jdbc;
+    private final int minRows;
+    private final List<String> violations = new ArrayList<>();
+
+    public QueryPlanGuard(JdbcTemplate jdbc, int minRows) {
+        this.jdbc = jdbc;
+        this.minRows = minRows;
+    }
+
+    // Parameters are the finder's arguments in the order they appear in the generated WHERE clause
+    public void check(String finder, Runnable invocation, Object... parameters) {
+        CapturingStatementInspector.LAST_SQL.remove();
+        invocation.run();
+        String sql = CapturingStatementInspector.LAST_SQL.get();
+        if (sql == null) {
+            violations.add(finder + ": no SQL was captured");
+            return;
+        }
+        Object[] bound = Arrays.stream(parameters).map(p -> p instanceof Enum<?> e ? e.name() : p).toArray();
+        String plan = String.join("\n", jdbc.queryForList("explain " + sql, String.class, bound));
+        Matcher scan = TABLE_SCAN.matcher(plan);
+        while (scan.find()) {
+            String table = scan.group(1);
+            long count = jdbc.queryForObject("select count(*) from " + table, Long.class);
+            if (count >= minRows) {
+                violations.add(finder + " scans " + table + " (" + count + " rows): " + plan.replace('\n', ' '));
+            }
+        }
+    }
+
+    public void assertNoTableScans() {
+        if (!violations.isEmpty()) {
+            throw new AssertionError("Repository finders scanning tables of " + minRows + "+ rows:\n  "
+                    + String.join("\n  ", violations));
+        }
+    }
+
+    // Instantiated by Hibernate from the class name, so the captured SQL is handed over through a static
+    public static class CapturingStatementInspector implements StatementInspector {
+        static final ThreadLocal<String> LAST_SQL = new ThreadLocal<>();
+
+        @Override
+        public String inspect(String sql) {
+            if (sql.regionMatches(true, 0, "select", 0, 6)) {
+                LAST_SQL.set(sql);
+            }
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.vehicle.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.vehicle.service.model.Vehicle;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+@Component
+@Slf4j
+public class VehicleVinCache {
+    private final Cache<String, Optional<Vehicle>> cache;
+
+    public VehicleVinCache(@Value("${vehicle.cache.vin.max-size:10000}") long maxSize,
+                           @Value("${vehicle.cache.vin.ttl:10m}") Duration ttl,
+                           @Value("${vehicle.cache.vin.negative-ttl:30s}") Duration negativeTtl,
+                           MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new VinExpiry(ttl.toNanos(), negativeTtl.toNanos()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "vehicleVinCache");
+    }
+
+    public Optional<Vehicle> get(String vin, Function<String, Optional<Vehicle>> loader) {
+        return cache.get(vin, loader);
+    }
+
+    public void invalidate(String vin) {
+        cache.invalidate(vin);
+    }
+
+    public void invalidateAfterCommit(String vin) {
+        invalidateAfterCommit(List.of(vin));
+    }
+
+    public void invalidateAfterCommit(Collection<String> vins) {
+        cache.invalidateAll(vins);
+        // Evict again once the new rows are visible so a concurrent read cannot re-cache the old ones
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidateAll(vins);
+                }
+            });
+        }
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private record VinExpiry(long ttlNanos, long negativeTtlNanos) implements Expiry<String, Optional<Vehicle>> {
+        @Override
+        public long expireAfterCreate(String vin, Optional<Vehicle> vehicle, long currentTime) {
+            return vehicle.isPresent() ? ttlNanos : negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String vin, Optional<Vehicle> vehicle, long currentTime, long currentDuration) {
+            return expireAfterCreate(vin, vehicle, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String vin, Optional<Vehicle> vehicle, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
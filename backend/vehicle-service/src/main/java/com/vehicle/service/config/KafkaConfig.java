@@ -2,22 +2,13 @@ package com.vehicle.service.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
-import org.apache.kafka.clients.admin.NewTopic;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.kafka.config.TopicBuilder;
 
+// Topics are declared under events.publishing.topics
 @Configuration
 public class KafkaConfig {
 
-    @Bean
-    public NewTopic vehicleTopic() {
-        return TopicBuilder.name("vehicle-events")
-                .partitions(3)
-                .replicas(1)
-                .build();
-    }
-
     @Bean
     public ObjectMapper objectMapper() {
         ObjectMapper mapper = new ObjectMapper();
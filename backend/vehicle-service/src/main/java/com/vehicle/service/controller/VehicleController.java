@@ -1,22 +1,50 @@
 package com.vehicle.service.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vehicle.common.web.ETags;
+import com.vehicle.service.dto.BulkVehicleResult;
+import com.vehicle.service.dto.VehicleLifecycle;
+import com.vehicle.service.dto.VehicleSearchQuery;
+import com.vehicle.service.dto.VehicleSearchResult;
+import com.vehicle.service.dto.VehicleStatusAt;
 import com.vehicle.service.model.Vehicle;
+import com.vehicle.service.model.VehicleLifecycleEvent;
 import com.vehicle.service.model.VehicleStatus;
+import com.vehicle.service.search.VehicleSearchIndex;
+import com.vehicle.service.service.VehicleBulkImporter;
 import com.vehicle.service.service.VehicleService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.MultiValueMap;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/vehicles")
 @RequiredArgsConstructor
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = {"X-Next-Cursor", "ETag"})
 public class VehicleController {
     private final VehicleService vehicleService;
+    private final VehicleBulkImporter bulkImporter;
+    private final ObjectMapper objectMapper;
+
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String MERGE_PATCH = "application/merge-patch+json";
 
     @PostMapping
     public ResponseEntity<Vehicle> createVehicle(@Valid @RequestBody Vehicle vehicle) {
@@ -24,50 +52,169 @@ public class VehicleController {
                 .body(vehicleService.createVehicle(vehicle));
     }
 
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, NDJSON})
+    public ResponseEntity<List<BulkVehicleResult>> bulkCreateVehicles(InputStream body) throws IOException {
+        return ResponseEntity.ok(bulkImporter.importVehicles(body));
+    }
+
     @GetMapping
     public ResponseEntity<List<Vehicle>> getAllVehicles() {
         return ResponseEntity.ok(vehicleService.getAllVehicles());
     }
 
+    @GetMapping(params = {"fields", "!limit"})
+    public ResponseEntity<List<Map<String, Object>>> getAllVehicleFields(@RequestParam List<String> fields) {
+        return ResponseEntity.ok(vehicleService.getVehicleFields(fields, Map.of()));
+    }
+
+    @GetMapping(params = {"limit", "!fields"})
+    public ResponseEntity<List<Vehicle>> getVehiclesPage(@RequestParam(required = false) Long after,
+                                                         @RequestParam int limit) {
+        List<Vehicle> vehicles = vehicleService.getVehiclesAfter(after, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (!vehicles.isEmpty()) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(vehicles.get(vehicles.size() - 1).getId()));
+        }
+        return response.body(vehicles);
+    }
+
+    @GetMapping(params = {"fields", "limit"})
+    public ResponseEntity<List<Map<String, Object>>> getVehicleFieldsPage(@RequestParam List<String> fields,
+                                                                          @RequestParam(required = false) Long after,
+                                                                          @RequestParam int limit) {
+        List<Map<String, Object>> vehicles = vehicleService.getVehicleFieldsAfter(fields, after, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (!vehicles.isEmpty()) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(vehicles.get(vehicles.size() - 1).get("id")));
+        }
+        return response.body(vehicles);
+    }
+
+    @GetMapping(produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamVehicles() {
+        StreamingResponseBody body = out -> vehicleService.streamAllVehicles(vehicle -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(vehicle));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(body);
+    }
+
+    // Facet filters are passed by name, e.g. ?q=hybrid&make=Toyota&make=Honda&year=2024&minPrice=20000
+    @GetMapping("/search")
+    public ResponseEntity<VehicleSearchResult> searchVehicles(@RequestParam(required = false) String q,
+                                                              @RequestParam(required = false) Double minPrice,
+                                                              @RequestParam(required = false) Double maxPrice,
+                                                              @RequestParam(defaultValue = "20") int limit,
+                                                              @RequestParam MultiValueMap<String, String> params) {
+        Map<String, List<String>> filters = new LinkedHashMap<>();
+        for (String facet : VehicleSearchIndex.FACETS) {
+            if (params.containsKey(facet)) {
+                filters.put(facet, params.get(facet));
+            }
+        }
+        return ResponseEntity.ok(vehicleService.searchVehicles(
+                new VehicleSearchQuery(q, filters, minPrice, maxPrice, limit)));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Vehicle> getVehicleById(@PathVariable Long id) {
         return vehicleService.getVehicleById(id)
-                .map(ResponseEntity::ok)
+                .map(vehicle -> ETags.ok(vehicle, vehicle.getVersion()))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/vin/{vin}")
     public ResponseEntity<Vehicle> getVehicleByVin(@PathVariable String vin) {
         return vehicleService.getVehicleByVin(vin)
+                .map(vehicle -> ETags.ok(vehicle, vehicle.getVersion()))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/vin/{vin}/lifecycle")
+    public ResponseEntity<VehicleLifecycle> getLifecycle(@PathVariable String vin) {
+        return vehicleService.getLifecycle(vin)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/vin/{vin}/lifecycle/status")
+    public ResponseEntity<VehicleStatusAt> getStatusAt(
+            @PathVariable String vin,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        return vehicleService.getStatusAt(vin, at)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/vin/{vin}/lifecycle/events")
+    public ResponseEntity<List<VehicleLifecycleEvent>> getLifecycleEvents(@PathVariable String vin) {
+        return ResponseEntity.ok(vehicleService.getLifecycleEvents(vin));
+    }
+
     @GetMapping("/make/{make}")
     public ResponseEntity<List<Vehicle>> getVehiclesByMake(@PathVariable String make) {
         return ResponseEntity.ok(vehicleService.getVehiclesByMake(make));
     }
 
+    @GetMapping(value = "/make/{make}", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getVehicleFieldsByMake(@PathVariable String make,
+                                                                            @RequestParam List<String> fields) {
+        return ResponseEntity.ok(vehicleService.getVehicleFields(fields, Map.of("make", make)));
+    }
+
     @GetMapping("/model/{model}")
     public ResponseEntity<List<Vehicle>> getVehiclesByModel(@PathVariable String model) {
         return ResponseEntity.ok(vehicleService.getVehiclesByModel(model));
     }
 
+    @GetMapping(value = "/model/{model}", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getVehicleFieldsByModel(@PathVariable String model,
+                                                                             @RequestParam List<String> fields) {
+        return ResponseEntity.ok(vehicleService.getVehicleFields(fields, Map.of("model", model)));
+    }
+
     @GetMapping("/status/{status}")
     public ResponseEntity<List<Vehicle>> getVehiclesByStatus(@PathVariable VehicleStatus status) {
         return ResponseEntity.ok(vehicleService.getVehiclesByStatus(status));
     }
 
+    @GetMapping(value = "/status/{status}", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getVehicleFieldsByStatus(@PathVariable VehicleStatus status,
+                                                                              @RequestParam List<String> fields) {
+        return ResponseEntity.ok(vehicleService.getVehicleFields(fields, Map.of("status", status)));
+    }
+
     @PutMapping("/{id}")
-    public ResponseEntity<Vehicle> updateVehicle(@PathVariable Long id, 
-                                                  @Valid @RequestBody Vehicle vehicle) {
-        return ResponseEntity.ok(vehicleService.updateVehicle(id, vehicle));
+    public ResponseEntity<Vehicle> updateVehicle(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody Vehicle vehicle) {
+        Vehicle updated = vehicleService.updateVehicle(id, vehicle, ETags.expectedVersion(ifMatch));
+        return ETags.ok(updated, updated.getVersion());
+    }
+
+    @PatchMapping(value = "/{id}", consumes = MERGE_PATCH)
+    public ResponseEntity<Vehicle> patchVehicle(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody JsonNode patch) {
+        Vehicle updated = vehicleService.patchVehicle(id, patch, ETags.expectedVersion(ifMatch));
+        return ETags.ok(updated, updated.getVersion());
     }
 
     @PatchMapping("/{id}/status")
-    public ResponseEntity<Vehicle> updateVehicleStatus(@PathVariable Long id, 
-                                                        @RequestParam VehicleStatus status) {
-        return ResponseEntity.ok(vehicleService.updateVehicleStatus(id, status));
+    public ResponseEntity<Vehicle> updateVehicleStatus(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestParam VehicleStatus status) {
+        Vehicle updated = vehicleService.updateVehicleStatus(id, status, ETags.expectedVersion(ifMatch));
+        return ETags.ok(updated, updated.getVersion());
     }
 
     @DeleteMapping("/{id}")
@@ -0,0 +1,24 @@
+package com.vehicle.service.dto;
+
+import java.util.List;
+
+public record BulkVehicleResult(int index, String vin, Long id, Status status, List<String> errors) {
+
+    public enum Status {
+        CREATED,
+        REJECTED,
+        FAILED
+    }
+
+    public static BulkVehicleResult created(int index, String vin, Long id) {
+        return new BulkVehicleResult(index, vin, id, Status.CREATED, List.of());
+    }
+
+    public static BulkVehicleResult rejected(int index, String vin, List<String> errors) {
+        return new BulkVehicleResult(index, vin, null, Status.REJECTED, errors);
+    }
+
+    public static BulkVehicleResult failed(int index, String vin, String error) {
+        return new BulkVehicleResult(index, vin, null, Status.FAILED, List.of(error));
+    }
+}
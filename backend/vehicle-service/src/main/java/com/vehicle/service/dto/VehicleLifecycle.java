@@ -0,0 +1,13 @@
+package com.vehicle.service.dto;
+
+import com.vehicle.service.model.VehicleStatus;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+// dwellMinutes is the total time spent in each status, the current stay included up to now
+public record VehicleLifecycle(String vin,
+                               VehicleStatus status,
+                               LocalDateTime since,
+                               int transitions,
+                               Map<VehicleStatus, Double> dwellMinutes) {}
@@ -0,0 +1,9 @@
+package com.vehicle.service.dto;
+
+import java.util.List;
+import java.util.Map;
+
+// Free text plus exact facet filters; several values for one facet match any of them
+public record VehicleSearchQuery(String text, Map<String, List<String>> filters, Double minPrice, Double maxPrice,
+                                 int limit) {
+}
@@ -0,0 +1,12 @@
+package com.vehicle.service.dto;
+
+import com.vehicle.service.model.Vehicle;
+
+import java.util.List;
+import java.util.Map;
+
+public record VehicleSearchResult(long total, List<Vehicle> vehicles, Map<String, List<FacetCount>> facets) {
+
+    public record FacetCount(String value, long count) {
+    }
+}
@@ -0,0 +1,7 @@
+package com.vehicle.service.dto;
+
+import com.vehicle.service.model.VehicleStatus;
+
+import java.time.LocalDateTime;
+
+public record VehicleStatusAt(String vin, LocalDateTime at, VehicleStatus status, LocalDateTime since) {}
@@ -0,0 +1,11 @@
+package com.vehicle.service.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.GONE)
+public class HistoryCompactedException extends RuntimeException {
+    public HistoryCompactedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,26 @@
+package com.vehicle.service.kafka;
+
+import com.vehicle.service.cache.VehicleVinCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "vehicle.cache.vin.kafka-invalidation", havingValue = "true", matchIfMissing = true)
+public class VehicleCacheInvalidationListener {
+    private final VehicleVinCache vinCache;
+
+    // Every instance uses its own group so each one sees every vehicle event
+    @KafkaListener(topics = "vehicle-events",
+            groupId = "#{'vehicle-cache-' + T(java.util.UUID).randomUUID()}")
+    public void onVehicleEvent(@Header(KafkaHeaders.RECEIVED_KEY) String vin) {
+        log.debug("Invalidating cached vehicle for VIN: {}", vin);
+        vinCache.invalidate(vin);
+    }
+}
@@ -0,0 +1,86 @@
+package com.vehicle.service.kafka;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vehicle.events.EventEncoding;
+import com.vehicle.events.EventSchemas;
+import com.vehicle.service.model.Vehicle;
+import com.vehicle.service.model.VehicleStatus;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+// Turns vehicle changes into vehicle-events payloads. With status deltas on, VEHICLE_STATUS_CHANGED carries only
+// the VIN, status and timestamp instead of the whole vehicle.
+@Component
+public class VehicleEventCodec {
+    private static final String STATUS_CHANGED = "VEHICLE_STATUS_CHANGED";
+
+    private final ObjectMapper objectMapper;
+    private final EventEncoding encoding;
+    private final boolean statusDeltas;
+
+    public VehicleEventCodec(ObjectMapper objectMapper,
+                             @Value("${events.encoding:avro}") EventEncoding encoding,
+                             @Value("${events.status-deltas:false}") boolean statusDeltas) {
+        this.objectMapper = objectMapper;
+        this.encoding = encoding;
+        this.statusDeltas = statusDeltas;
+    }
+
+    public byte[] encode(String eventType, Vehicle vehicle) throws JsonProcessingException {
+        boolean delta = statusDeltas && STATUS_CHANGED.equals(eventType);
+        if (encoding == EventEncoding.AVRO) {
+            return EventSchemas.encode(delta ? statusChangedRecord(vehicle) : vehicleEventRecord(eventType, vehicle));
+        }
+        Object event = delta
+                ? new VehicleStatusChangedEvent(eventType, new StatusChange(vehicle.getVin(), vehicle.getStatus(),
+                        vehicle.getUpdatedAt()))
+                : new VehicleEvent(eventType, vehicle);
+        return objectMapper.writeValueAsBytes(event);
+    }
+
+    private static GenericRecord vehicleEventRecord(String eventType, Vehicle vehicle) {
+        GenericRecord record = new GenericData.Record(EventSchemas.VEHICLE_EVENT.getField("vehicle").schema());
+        record.put("id", vehicle.getId());
+        record.put("vin", vehicle.getVin());
+        record.put("make", vehicle.getMake());
+        record.put("model", vehicle.getModel());
+        record.put("year", vehicle.getYear());
+        record.put("color", vehicle.getColor());
+        record.put("type", vehicle.getType());
+        record.put("engineType", vehicle.getEngineType());
+        record.put("transmission", vehicle.getTransmission());
+        record.put("price", vehicle.getPrice());
+        record.put("status", name(vehicle.getStatus()));
+        record.put("manufacturingDate", EventSchemas.toMillis(vehicle.getManufacturingDate()));
+        record.put("createdAt", EventSchemas.toMillis(vehicle.getCreatedAt()));
+        record.put("updatedAt", EventSchemas.toMillis(vehicle.getUpdatedAt()));
+
+        GenericRecord event = new GenericData.Record(EventSchemas.VEHICLE_EVENT);
+        event.put("eventType", eventType);
+        event.put("vehicle", record);
+        return event;
+    }
+
+    private static GenericRecord statusChangedRecord(Vehicle vehicle) {
+        GenericRecord record = new GenericData.Record(EventSchemas.VEHICLE_STATUS_CHANGED);
+        record.put("vin", vehicle.getVin());
+        record.put("status", name(vehicle.getStatus()));
+        record.put("updatedAt", EventSchemas.toMillis(vehicle.getUpdatedAt()));
+        return record;
+    }
+
+    private static String name(Enum<?> value) {
+        return value == null ? null : value.name();
+    }
+
+    private record VehicleEvent(String eventType, Vehicle vehicle) {}
+
+    private record VehicleStatusChangedEvent(String eventType, StatusChange statusChange) {}
+
+    private record StatusChange(String vin, VehicleStatus status, LocalDateTime updatedAt) {}
+}
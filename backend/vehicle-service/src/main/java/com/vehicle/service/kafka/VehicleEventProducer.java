@@ -1,19 +1,22 @@
 package com.vehicle.service.kafka;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vehicle.service.model.OutboxEvent;
 import com.vehicle.service.model.Vehicle;
+import com.vehicle.service.repository.OutboxEventRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class VehicleEventProducer {
-    private final KafkaTemplate<String, String> kafkaTemplate;
-    private final ObjectMapper objectMapper;
+    private final OutboxEventRepository outboxRepository;
+    private final VehicleEventCodec eventCodec;
 
     private static final String VEHICLE_TOPIC = "vehicle-events";
 
@@ -21,6 +24,18 @@ public class VehicleEventProducer {
         sendEvent("VEHICLE_CREATED", vehicle);
     }
 
+    public void sendVehicleCreatedEvents(List<Vehicle> vehicles) {
+        List<OutboxEvent> events = new ArrayList<>(vehicles.size());
+        for (Vehicle vehicle : vehicles) {
+            OutboxEvent event = toOutboxEvent("VEHICLE_CREATED", vehicle);
+            if (event != null) {
+                events.add(event);
+            }
+        }
+        outboxRepository.saveAll(events);
+        log.info("Queued {} VEHICLE_CREATED events", events.size());
+    }
+
     public void sendVehicleUpdatedEvent(Vehicle vehicle) {
         sendEvent("VEHICLE_UPDATED", vehicle);
     }
@@ -33,15 +48,26 @@ public class VehicleEventProducer {
         sendEvent("VEHICLE_STATUS_CHANGED", vehicle);
     }
 
+    // Events are written to the outbox in the caller's transaction and published by OutboxRelay
     private void sendEvent(String eventType, Vehicle vehicle) {
+        OutboxEvent event = toOutboxEvent(eventType, vehicle);
+        if (event != null) {
+            outboxRepository.save(event);
+            log.info("Queued {} event for vehicle VIN: {}", eventType, vehicle.getVin());
+        }
+    }
+
+    private OutboxEvent toOutboxEvent(String eventType, Vehicle vehicle) {
         try {
-            String message = objectMapper.writeValueAsString(new VehicleEvent(eventType, vehicle));
-            kafkaTemplate.send(VEHICLE_TOPIC, vehicle.getVin(), message);
-            log.info("Sent {} event for vehicle VIN: {}", eventType, vehicle.getVin());
+            OutboxEvent event = new OutboxEvent();
+            event.setTopic(VEHICLE_TOPIC);
+            event.setMessageKey(vehicle.getVin());
+            event.setEventType(eventType);
+            event.setPayload(eventCodec.encode(eventType, vehicle));
+            return event;
         } catch (JsonProcessingException e) {
             log.error("Error serializing vehicle event", e);
+            return null;
         }
     }
-
-    private record VehicleEvent(String eventType, Vehicle vehicle) {}
 }
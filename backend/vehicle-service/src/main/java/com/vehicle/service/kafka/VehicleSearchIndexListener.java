@@ -0,0 +1,30 @@
+package com.vehicle.service.kafka;
+
+import com.vehicle.service.search.VehicleSearchIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Picks up vehicles changed through other instances; this instance's own changes are already indexed at commit, and
+// reloading them again is harmless
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "vehicle.search.kafka-sync", havingValue = "true", matchIfMissing = true)
+public class VehicleSearchIndexListener {
+    private final VehicleSearchIndex searchIndex;
+
+    // Every instance uses its own group so each one sees every vehicle event
+    @KafkaListener(topics = "vehicle-events",
+            groupId = "#{'vehicle-search-' + T(java.util.UUID).randomUUID()}", batch = "true")
+    public void onVehicleEvents(@Header(KafkaHeaders.RECEIVED_KEY) List<String> vins) {
+        log.debug("Reindexing {} vehicles from vehicle events", vins.size());
+        searchIndex.reindex(vins);
+    }
+}
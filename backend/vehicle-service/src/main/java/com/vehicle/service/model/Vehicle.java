@@ -1,22 +1,32 @@
 package com.vehicle.service.model;
 
+import com.vehicle.common.persistence.Versioned;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "vehicles")
+@Table(name = "vehicles", indexes = {
+        // Leading make column also serves findByMake
+        @Index(name = "idx_vehicles_make_model", columnList = "make, model"),
+        @Index(name = "idx_vehicles_model", columnList = "model"),
+        @Index(name = "idx_vehicles_year", columnList = "year"),
+        @Index(name = "idx_vehicles_status", columnList = "status")
+})
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class Vehicle {
+public class Vehicle implements Versioned {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "vehicle_seq")
+    @SequenceGenerator(name = "vehicle_seq", sequenceName = "vehicle_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "VIN is required")
@@ -49,6 +59,9 @@ public class Vehicle {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    @Version
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
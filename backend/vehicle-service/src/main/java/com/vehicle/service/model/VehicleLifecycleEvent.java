@@ -0,0 +1,34 @@
+package com.vehicle.service.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// One status transition of a VIN. Rows are only ever inserted, and deleted by compaction once folded into the
+// VIN's snapshot; seq numbers a VIN's transitions from 1, its creation.
+@Entity
+@Table(name = "vehicle_lifecycle_events",
+        uniqueConstraints = @UniqueConstraint(name = "uk_vehicle_lifecycle_events_vin_seq",
+                columnNames = {"vin", "seq"}),
+        indexes = @Index(name = "idx_vehicle_lifecycle_events_vin_occurred_at", columnList = "vin, occurred_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VehicleLifecycleEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "vehicle_lifecycle_event_seq")
+    @SequenceGenerator(name = "vehicle_lifecycle_event_seq", sequenceName = "vehicle_lifecycle_event_seq",
+            allocationSize = 50)
+    private Long id;
+
+    private String vin;
+    private int seq;
+
+    @Enumerated(EnumType.STRING)
+    private VehicleStatus status;
+
+    private LocalDateTime occurredAt;
+}
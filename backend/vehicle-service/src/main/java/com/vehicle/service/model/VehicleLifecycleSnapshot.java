@@ -0,0 +1,38 @@
+package com.vehicle.service.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+// A VIN's lifecycle folded up to its latest transition: the current status, when it was entered, and the time
+// spent in every earlier status. Updated in the transaction that appends each event, so it never lags the log.
+@Entity
+@Table(name = "vehicle_lifecycle_snapshots")
+@Data
+@NoArgsConstructor
+public class VehicleLifecycleSnapshot {
+    @Id
+    private String vin;
+
+    @Enumerated(EnumType.STRING)
+    private VehicleStatus status;
+
+    private LocalDateTime since;
+    private int lastSeq;
+
+    // Completed stays only; the time in the current status is since until now
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "vehicle_lifecycle_dwell", joinColumns = @JoinColumn(name = "vin"))
+    @MapKeyEnumerated(EnumType.STRING)
+    @MapKeyColumn(name = "status", length = 32)
+    @Column(name = "dwell_millis")
+    private Map<VehicleStatus, Long> dwellMillis = new EnumMap<>(VehicleStatus.class);
+
+    public VehicleLifecycleSnapshot(String vin) {
+        this.vin = vin;
+    }
+}
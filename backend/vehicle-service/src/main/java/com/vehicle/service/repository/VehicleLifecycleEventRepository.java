@@ -0,0 +1,17 @@
+package com.vehicle.service.repository;
+
+import com.vehicle.service.model.VehicleLifecycleEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface VehicleLifecycleEventRepository extends JpaRepository<VehicleLifecycleEvent, Long> {
+    List<VehicleLifecycleEvent> findByVinOrderBySeqAsc(String vin);
+    Optional<VehicleLifecycleEvent> findFirstByVinAndOccurredAtLessThanEqualOrderBySeqDesc(String vin,
+                                                                                          LocalDateTime at);
+    Optional<VehicleLifecycleEvent> findFirstByVinOrderBySeqAsc(String vin);
+}
@@ -0,0 +1,9 @@
+package com.vehicle.service.repository;
+
+import com.vehicle.service.model.VehicleLifecycleSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface VehicleLifecycleSnapshotRepository extends JpaRepository<VehicleLifecycleSnapshot, String> {
+}
@@ -2,18 +2,39 @@ package com.vehicle.service.repository;
 
 import com.vehicle.service.model.Vehicle;
 import com.vehicle.service.model.VehicleStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
 public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
     Optional<Vehicle> findByVin(String vin);
+    List<Vehicle> findByVinIn(Collection<String> vins);
     List<Vehicle> findByMake(String make);
     List<Vehicle> findByModel(String model);
     List<Vehicle> findByStatus(VehicleStatus status);
     List<Vehicle> findByYear(Integer year);
     List<Vehicle> findByMakeAndModel(String make, String model);
+
+    List<Vehicle> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Vehicle> streamAllByOrderByIdAsc();
+
+    @Query("select v.vin from Vehicle v where v.vin in :vins")
+    Set<String> findExistingVins(@Param("vins") Collection<String> vins);
 }
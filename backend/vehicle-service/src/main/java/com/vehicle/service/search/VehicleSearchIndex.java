@@ -0,0 +1,404 @@
+package com.vehicle.service.search;
+
+import com.vehicle.service.dto.VehicleSearchQuery;
+import com.vehicle.service.dto.VehicleSearchResult;
+import com.vehicle.service.dto.VehicleSearchResult.FacetCount;
+import com.vehicle.service.model.Vehicle;
+import com.vehicle.service.repository.VehicleRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.DoubleDocValuesField;
+import org.apache.lucene.document.DoublePoint;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.facet.DrillDownQuery;
+import org.apache.lucene.facet.DrillSideways;
+import org.apache.lucene.facet.FacetResult;
+import org.apache.lucene.facet.Facets;
+import org.apache.lucene.facet.FacetsCollector;
+import org.apache.lucene.facet.FacetsConfig;
+import org.apache.lucene.facet.LabelAndValue;
+import org.apache.lucene.facet.MultiFacets;
+import org.apache.lucene.facet.range.DoubleRange;
+import org.apache.lucene.facet.range.DoubleRangeFacetCounts;
+import org.apache.lucene.facet.sortedset.DefaultSortedSetDocValuesReaderState;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesFacetCounts;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesFacetField;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesReaderState;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherFactory;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// In-memory Lucene index for free text and faceted vehicle search. The database stays the source of truth: the
+// index is rebuilt from it at startup, updated after each committed change, and hits are loaded from it by id.
+// Changes become searchable at the next refresh.
+@Component
+@Slf4j
+public class VehicleSearchIndex {
+    public static final List<String> FACETS = List.of("make", "model", "year", "color", "type", "engineType", "status");
+    public static final String PRICE = "price";
+
+    private static final String VIN = "vin";
+    private static final String ID = "id";
+    private static final String TEXT = "text";
+    private static final Set<String> ID_ONLY = Set.of(ID);
+
+    private final VehicleRepository vehicleRepository;
+    private final int rebuildPageSize;
+    private final int facetLimit;
+    private final int maxResults;
+    private final DoubleRange[] priceRanges;
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final FacetsConfig facetsConfig = new FacetsConfig();
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final Set<String> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+
+    public VehicleSearchIndex(VehicleRepository vehicleRepository,
+                              @Value("${vehicle.search.rebuild-page-size:1000}") int rebuildPageSize,
+                              @Value("${vehicle.search.facet-limit:10}") int facetLimit,
+                              @Value("${vehicle.search.max-results:100}") int maxResults,
+                              @Value("${vehicle.search.price-bounds:20000,30000,40000,60000,80000}")
+                              double[] priceBounds) throws IOException {
+        this.vehicleRepository = vehicleRepository;
+        this.rebuildPageSize = rebuildPageSize;
+        this.facetLimit = facetLimit;
+        this.maxResults = maxResults;
+        this.priceRanges = priceRanges(priceBounds);
+        this.writer = new IndexWriter(new ByteBuffersDirectory(), new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE)
+                .setRAMBufferSizeMB(64));
+        this.searcherManager = new SearcherManager(writer, new SearcherFactory() {
+            @Override
+            public IndexSearcher newSearcher(IndexReader reader, IndexReader previousReader) throws IOException {
+                return new FacetedSearcher(reader, facetsConfig);
+            }
+        });
+    }
+
+    public VehicleSearchResult search(VehicleSearchQuery query) {
+        int limit = Math.max(1, Math.min(query.limit(), maxResults));
+        IndexSearcher searcher = acquire();
+        try {
+            SortedSetDocValuesReaderState state = ((FacetedSearcher) searcher).facetState;
+            if (state == null) {
+                return new VehicleSearchResult(0, List.of(), Map.of());
+            }
+            DrillDownQuery drillDown = new DrillDownQuery(facetsConfig, textQuery(query.text()));
+            // Values within one facet are OR'ed, facets are AND'ed
+            query.filters().forEach((dim, values) -> values.forEach(value -> drillDown.add(dim, value)));
+            if (query.minPrice() != null || query.maxPrice() != null) {
+                drillDown.add(PRICE, DoublePoint.newRangeQuery(PRICE,
+                        query.minPrice() == null ? Double.NEGATIVE_INFINITY : query.minPrice(),
+                        query.maxPrice() == null ? Double.POSITIVE_INFINITY : query.maxPrice()));
+            }
+            DrillSideways.DrillSidewaysResult result =
+                    new VehicleDrillSideways(searcher, state).search(drillDown, limit);
+            return new VehicleSearchResult(result.hits.totalHits.value, load(searcher, result.hits.scoreDocs),
+                    facetCounts(result.facets));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            release(searcher);
+        }
+    }
+
+    public void indexAfterCommit(Vehicle vehicle) {
+        indexAfterCommit(List.of(vehicle));
+    }
+
+    public void indexAfterCommit(Collection<Vehicle> vehicles) {
+        List<Vehicle> changed = List.copyOf(vehicles);
+        afterCommit(() -> changed.forEach(this::index));
+    }
+
+    public void removeAfterCommit(String vin) {
+        afterCommit(() -> remove(vin));
+    }
+
+    // Reloads the given vehicles from the database, dropping the ones that no longer exist
+    public void reindex(Collection<String> vins) {
+        List<String> remaining = List.copyOf(new HashSet<>(vins));
+        for (int from = 0; from < remaining.size(); from += rebuildPageSize) {
+            List<String> chunk = remaining.subList(from, Math.min(from + rebuildPageSize, remaining.size()));
+            Set<String> missing = new HashSet<>(chunk);
+            for (Vehicle vehicle : vehicleRepository.findByVinIn(chunk)) {
+                missing.remove(vehicle.getVin());
+                index(vehicle);
+            }
+            missing.forEach(this::remove);
+        }
+    }
+
+    // Searches made while this runs see whatever has been indexed so far
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        long indexed = 0;
+        changedDuringRebuild.clear();
+        rebuilding = true;
+        try {
+            writer.deleteAll();
+            long afterId = 0;
+            List<Vehicle> page;
+            while (!(page = vehicleRepository.findByIdGreaterThanOrderByIdAsc(
+                    afterId, PageRequest.of(0, rebuildPageSize))).isEmpty()) {
+                for (Vehicle vehicle : page) {
+                    writer.updateDocument(new Term(VIN, vehicle.getVin()), document(vehicle));
+                }
+                indexed += page.size();
+                afterId = page.get(page.size() - 1).getId();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            rebuilding = false;
+        }
+        // A vehicle changed while its page was being read may have been indexed from the older copy
+        reindex(changedDuringRebuild);
+        changedDuringRebuild.clear();
+        refresh();
+        log.info("Indexed {} vehicles for search in {} ms", indexed, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Scheduled(fixedDelayString = "${vehicle.search.refresh-interval-ms:1000}")
+    public void refresh() {
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            log.warn("Could not refresh the vehicle search index", e);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+    }
+
+    private void index(Vehicle vehicle) {
+        if (rebuilding) {
+            changedDuringRebuild.add(vehicle.getVin());
+        }
+        try {
+            writer.updateDocument(new Term(VIN, vehicle.getVin()), document(vehicle));
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Could not index vehicle {}, search stays stale for it until the next rebuild",
+                    vehicle.getVin(), e);
+        }
+    }
+
+    private void remove(String vin) {
+        if (rebuilding) {
+            changedDuringRebuild.add(vin);
+        }
+        try {
+            writer.deleteDocuments(new Term(VIN, vin));
+        } catch (IOException e) {
+            log.warn("Could not remove vehicle {} from the search index", vin, e);
+        }
+    }
+
+    private Document document(Vehicle vehicle) throws IOException {
+        Document document = new Document();
+        document.add(new StringField(VIN, vehicle.getVin(), Field.Store.NO));
+        document.add(new StoredField(ID, vehicle.getId()));
+
+        StringJoiner text = new StringJoiner(" ").add(vehicle.getVin());
+        facetValues(vehicle).forEach((dim, value) -> {
+            document.add(new SortedSetDocValuesFacetField(dim, value));
+            text.add(value);
+        });
+        if (vehicle.getTransmission() != null) {
+            text.add(vehicle.getTransmission());
+        }
+        document.add(new TextField(TEXT, text.toString(), Field.Store.NO));
+
+        if (vehicle.getPrice() != null) {
+            document.add(new DoublePoint(PRICE, vehicle.getPrice()));
+            document.add(new DoubleDocValuesField(PRICE, vehicle.getPrice()));
+        }
+        return facetsConfig.build(document);
+    }
+
+    // Facet labels cannot be empty, so missing values are left out rather than indexed as blanks
+    private static Map<String, String> facetValues(Vehicle vehicle) {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("make", vehicle.getMake());
+        values.put("model", vehicle.getModel());
+        values.put("year", vehicle.getYear() == null ? null : vehicle.getYear().toString());
+        values.put("color", vehicle.getColor());
+        values.put("type", vehicle.getType());
+        values.put("engineType", vehicle.getEngineType());
+        values.put("status", vehicle.getStatus() == null ? null : vehicle.getStatus().name());
+        values.values().removeIf(value -> value == null || value.isBlank());
+        return values;
+    }
+
+    private Query textQuery(String text) {
+        if (text == null || text.isBlank()) {
+            return new MatchAllDocsQuery();
+        }
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer, TEXT);
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+        return parser.parse(text);
+    }
+
+    // Keeps the index's ranking; a hit deleted from the database since the last refresh is dropped
+    private List<Vehicle> load(IndexSearcher searcher, ScoreDoc[] hits) throws IOException {
+        StoredFields storedFields = searcher.storedFields();
+        List<Long> ids = new ArrayList<>(hits.length);
+        for (ScoreDoc hit : hits) {
+            ids.add(storedFields.document(hit.doc, ID_ONLY).getField(ID).numericValue().longValue());
+        }
+        Map<Long, Vehicle> byId = vehicleRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Vehicle::getId, Function.identity()));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    private Map<String, List<FacetCount>> facetCounts(Facets facets) throws IOException {
+        Map<String, List<FacetCount>> counts = new LinkedHashMap<>();
+        for (String dim : FACETS) {
+            counts.put(dim, facetCounts(facets.getTopChildren(facetLimit, dim)));
+        }
+        counts.put(PRICE, facetCounts(facets.getAllChildren(PRICE)));
+        return counts;
+    }
+
+    // A null result means no indexed vehicle has a value for that facet
+    private static List<FacetCount> facetCounts(FacetResult result) {
+        if (result == null) {
+            return List.of();
+        }
+        List<FacetCount> counts = new ArrayList<>(result.labelValues.length);
+        for (LabelAndValue labelValue : result.labelValues) {
+            counts.add(new FacetCount(labelValue.label, labelValue.value.longValue()));
+        }
+        return counts;
+    }
+
+    // Bounds 20000,30000 give the ranges <20000, 20000-30000 and 30000+, each including its lower bound
+    private static DoubleRange[] priceRanges(double[] bounds) {
+        DoubleRange[] ranges = new DoubleRange[bounds.length + 1];
+        double lower = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i <= bounds.length; i++) {
+            double upper = i < bounds.length ? bounds[i] : Double.POSITIVE_INFINITY;
+            String label = i == 0 ? "<" + format(upper)
+                    : i == bounds.length ? format(lower) + "+"
+                    : format(lower) + "-" + format(upper);
+            ranges[i] = new DoubleRange(label, lower, true, upper, false);
+            lower = upper;
+        }
+        return ranges;
+    }
+
+    private static String format(double bound) {
+        return BigDecimal.valueOf(bound).stripTrailingZeros().toPlainString();
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    private IndexSearcher acquire() {
+        try {
+            return searcherManager.acquire();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void release(IndexSearcher searcher) {
+        try {
+            searcherManager.release(searcher);
+        } catch (IOException e) {
+            log.warn("Could not release a vehicle search index reader", e);
+        }
+    }
+
+    // Facet ordinals are built per point-in-time reader, so each searcher carries the ones matching its reader
+    private static final class FacetedSearcher extends IndexSearcher {
+        private final SortedSetDocValuesReaderState facetState;
+
+        private FacetedSearcher(IndexReader reader, FacetsConfig config) throws IOException {
+            super(reader);
+            this.facetState = reader.numDocs() == 0 ? null : new DefaultSortedSetDocValuesReaderState(reader, config);
+        }
+    }
+
+    // Counts each facet as if its own filter were not applied, so a selected facet still lists the alternatives.
+    // Price ranges are counted from doc values rather than facet ordinals, with the same sideways treatment.
+    private final class VehicleDrillSideways extends DrillSideways {
+
+        private VehicleDrillSideways(IndexSearcher searcher, SortedSetDocValuesReaderState state) {
+            super(searcher, facetsConfig, state);
+        }
+
+        @Override
+        protected Facets buildFacetsResult(FacetsCollector drillDowns, FacetsCollector[] drillSideways,
+                                           String[] drillSidewaysDims) throws IOException {
+            Map<String, Facets> facetsByDim = new HashMap<>();
+            FacetsCollector priceHits = drillDowns;
+            for (int i = 0; i < drillSidewaysDims.length; i++) {
+                if (drillSidewaysDims[i].equals(PRICE)) {
+                    priceHits = drillSideways[i];
+                } else {
+                    facetsByDim.put(drillSidewaysDims[i], new SortedSetDocValuesFacetCounts(state, drillSideways[i]));
+                }
+            }
+            facetsByDim.put(PRICE, new DoubleRangeFacetCounts(PRICE, priceHits, priceRanges));
+            return new MultiFacets(facetsByDim, new SortedSetDocValuesFacetCounts(state, drillDowns));
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.vehicle.service.service;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vehicle.service.dto.BulkVehicleResult;
+import com.vehicle.service.model.Vehicle;
+import com.vehicle.service.repository.VehicleRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class VehicleBulkImporter {
+    private final VehicleService vehicleService;
+    private final VehicleRepository vehicleRepository;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @Value("${vehicle.bulk.chunk-size:500}")
+    private int chunkSize;
+
+    // Accepts either a JSON array or newline-delimited JSON objects
+    public List<BulkVehicleResult> importVehicles(InputStream body) throws IOException {
+        List<BulkVehicleResult> results = new ArrayList<>();
+        List<Vehicle> chunk = new ArrayList<>(chunkSize);
+        int startIndex = 0;
+        int index = 0;
+
+        try (MappingIterator<Vehicle> vehicles = objectMapper.readerFor(Vehicle.class).readValues(body)) {
+            while (true) {
+                try {
+                    if (!vehicles.hasNextValue()) {
+                        break;
+                    }
+                    chunk.add(vehicles.nextValue());
+                } catch (IOException e) {
+                    results.add(BulkVehicleResult.failed(index, null, "Malformed vehicle: " + e.getMessage()));
+                    break;
+                }
+                index++;
+                if (chunk.size() == chunkSize) {
+                    importChunk(chunk, startIndex, results);
+                    startIndex = index;
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, startIndex, results);
+        }
+        results.sort(Comparator.comparingInt(BulkVehicleResult::index));
+        return results;
+    }
+
+    private void importChunk(List<Vehicle> chunk, int startIndex, List<BulkVehicleResult> results) {
+        Set<String> chunkVins = new HashSet<>();
+        for (Vehicle vehicle : chunk) {
+            if (vehicle.getVin() != null) {
+                chunkVins.add(vehicle.getVin());
+            }
+        }
+        Set<String> existingVins = chunkVins.isEmpty() ? Set.of() : vehicleRepository.findExistingVins(chunkVins);
+
+        List<Vehicle> accepted = new ArrayList<>(chunk.size());
+        List<Integer> acceptedIndexes = new ArrayList<>(chunk.size());
+        Set<String> seenVins = new HashSet<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            Vehicle vehicle = chunk.get(i);
+            List<String> errors = new ArrayList<>();
+            for (ConstraintViolation<Vehicle> violation : validator.validate(vehicle)) {
+                errors.add(violation.getMessage());
+            }
+            if (vehicle.getVin() != null && (existingVins.contains(vehicle.getVin()) || !seenVins.add(vehicle.getVin()))) {
+                errors.add("Duplicate VIN: " + vehicle.getVin());
+            }
+            if (errors.isEmpty()) {
+                vehicle.setId(null);
+                accepted.add(vehicle);
+                acceptedIndexes.add(startIndex + i);
+            } else {
+                results.add(BulkVehicleResult.rejected(startIndex + i, vehicle.getVin(), errors));
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        try {
+            List<Vehicle> saved = vehicleService.createVehicles(accepted);
+            for (int i = 0; i < saved.size(); i++) {
+                results.add(BulkVehicleResult.created(acceptedIndexes.get(i), saved.get(i).getVin(), saved.get(i).getId()));
+            }
+        } catch (RuntimeException e) {
+            log.error("Bulk vehicle chunk starting at row {} failed", startIndex, e);
+            for (int i = 0; i < accepted.size(); i++) {
+                results.add(BulkVehicleResult.failed(acceptedIndexes.get(i), accepted.get(i).getVin(), e.getMessage()));
+            }
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.vehicle.service.service;
+
+import com.vehicle.service.dto.VehicleLifecycle;
+import com.vehicle.service.dto.VehicleStatusAt;
+import com.vehicle.service.exception.HistoryCompactedException;
+import com.vehicle.service.model.Vehicle;
+import com.vehicle.service.model.VehicleLifecycleEvent;
+import com.vehicle.service.model.VehicleLifecycleSnapshot;
+import com.vehicle.service.model.VehicleStatus;
+import com.vehicle.service.repository.VehicleLifecycleEventRepository;
+import com.vehicle.service.repository.VehicleLifecycleSnapshotRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Append-only status history per VIN. Each transition adds an event and folds the stay it ends into the VIN's
+// snapshot, so the current status and the time spent per status are one row read. Compaction drops events older
+// than vehicle.lifecycle.retention, keeping the last one before the cutoff so status-at queries stay exact from
+// there on.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class VehicleLifecycleLog {
+    // An event can go once the one after it is also past the cutoff. That only ever removes a prefix of a VIN's log,
+    // so the event after seq is always seq + 1 and is found through the (vin, seq) key.
+    private static final String COMPACT_SQL = "delete from vehicle_lifecycle_events e where e.occurred_at < ? "
+            + "and exists (select 1 from vehicle_lifecycle_events later where later.vin = e.vin "
+            + "and later.seq = e.seq + 1 and later.occurred_at <= ?) fetch first ? rows only";
+    private static final String DELETE_EVENTS_SQL = "delete from vehicle_lifecycle_events where vin = ?";
+
+    private final VehicleLifecycleEventRepository events;
+    private final VehicleLifecycleSnapshotRepository snapshots;
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${vehicle.lifecycle.retention:365d}")
+    private Duration retention;
+
+    @Value("${vehicle.lifecycle.compaction-batch-size:10000}")
+    private int compactionBatchSize;
+
+    // The record methods run in the caller's transaction, which also writes the vehicle row, so two writers of one
+    // VIN cannot both commit
+    public void recordCreated(Collection<Vehicle> vehicles) {
+        Map<String, VehicleLifecycleSnapshot> existing = snapshots
+                .findAllById(vehicles.stream().map(Vehicle::getVin).toList()).stream()
+                .collect(Collectors.toMap(VehicleLifecycleSnapshot::getVin, Function.identity()));
+        LocalDateTime now = LocalDateTime.now();
+        List<VehicleLifecycleEvent> appended = new ArrayList<>(vehicles.size());
+        for (Vehicle vehicle : vehicles) {
+            VehicleLifecycleSnapshot snapshot = existing.get(vehicle.getVin());
+            if (snapshot != null) {
+                restart(snapshot);
+            }
+            append(snapshot, vehicle.getVin(), vehicle.getStatus(), now).ifPresent(appended::add);
+        }
+        events.saveAll(appended);
+    }
+
+    // The history goes with the vehicle, so the lifecycle endpoints stop reporting a VIN that no longer exists
+    public void recordDeleted(String vin) {
+        jdbcTemplate.update(DELETE_EVENTS_SQL, vin);
+        snapshots.findById(vin).ifPresent(snapshots::delete);
+    }
+
+    public void recordStatus(Vehicle vehicle, VehicleStatus previousStatus) {
+        if (vehicle.getStatus() == previousStatus) {
+            return;
+        }
+        append(snapshots.findById(vehicle.getVin()).orElse(null), vehicle.getVin(), vehicle.getStatus(),
+                LocalDateTime.now())
+                .ifPresent(events::save);
+    }
+
+    public Optional<VehicleLifecycle> getLifecycle(String vin) {
+        LocalDateTime now = LocalDateTime.now();
+        return snapshots.findById(vin).map(snapshot -> {
+            Map<VehicleStatus, Double> dwell = new EnumMap<>(VehicleStatus.class);
+            snapshot.getDwellMillis().forEach((status, millis) -> dwell.put(status, toMinutes(millis)));
+            dwell.merge(snapshot.getStatus(), toMinutes(millisBetween(snapshot.getSince(), now)), Double::sum);
+            return new VehicleLifecycle(vin, snapshot.getStatus(), snapshot.getSince(), snapshot.getLastSeq(), dwell);
+        });
+    }
+
+    public Optional<VehicleStatusAt> getStatusAt(String vin, LocalDateTime at) {
+        Optional<VehicleLifecycleEvent> event = events.findFirstByVinAndOccurredAtLessThanEqualOrderBySeqDesc(vin, at);
+        if (event.isPresent()) {
+            return event.map(found -> new VehicleStatusAt(vin, at, found.getStatus(), found.getOccurredAt()));
+        }
+        // Nothing at or before `at`: the VIN did not exist yet, unless compaction removed the start of its log
+        events.findFirstByVinOrderBySeqAsc(vin)
+                .filter(first -> first.getSeq() > 1)
+                .ifPresent(first -> {
+                    throw new HistoryCompactedException("History of " + vin + " before " + first.getOccurredAt()
+                            + " has been compacted");
+                });
+        return Optional.empty();
+    }
+
+    public List<VehicleLifecycleEvent> getEvents(String vin) {
+        return events.findByVinOrderBySeqAsc(vin);
+    }
+
+    @Scheduled(fixedDelayString = "${vehicle.lifecycle.compaction-interval-ms:86400000}")
+    public void compact() {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minus(retention));
+        long removed = 0;
+        int deleted;
+        // Each statement commits on its own, so a large backlog never holds locks for long
+        do {
+            deleted = jdbcTemplate.update(COMPACT_SQL, cutoff, cutoff, compactionBatchSize);
+            removed += deleted;
+        } while (deleted == compactionBatchSize);
+        if (removed > 0) {
+            log.info("Compacted {} vehicle lifecycle events older than {}", removed, cutoff);
+        }
+    }
+
+    // VINs without a snapshot, e.g. vehicles that predate the log, start one at the new status
+    private Optional<VehicleLifecycleEvent> append(VehicleLifecycleSnapshot snapshot, String vin,
+                                                   VehicleStatus status, LocalDateTime at) {
+        if (status == null || (snapshot != null && snapshot.getStatus() == status)) {
+            return Optional.empty();
+        }
+        if (snapshot == null) {
+            snapshot = new VehicleLifecycleSnapshot(vin);
+            entityManager.persist(snapshot);
+        } else if (snapshot.getStatus() != null) {
+            snapshot.getDwellMillis().merge(snapshot.getStatus(), millisBetween(snapshot.getSince(), at), Long::sum);
+        }
+        snapshot.setStatus(status);
+        snapshot.setSince(at);
+        snapshot.setLastSeq(snapshot.getLastSeq() + 1);
+        return Optional.of(new VehicleLifecycleEvent(null, vin, snapshot.getLastSeq(), status, at));
+    }
+
+    // A snapshot for a VIN being created was left by an earlier vehicle whose delete did not clear it. The new vehicle
+    // starts over at seq 1, so its old events go first: the new ones reuse their (vin, seq) keys.
+    private void restart(VehicleLifecycleSnapshot snapshot) {
+        jdbcTemplate.update(DELETE_EVENTS_SQL, snapshot.getVin());
+        snapshot.setStatus(null);
+        snapshot.setSince(null);
+        snapshot.setLastSeq(0);
+        snapshot.getDwellMillis().clear();
+    }
+
+    private static long millisBetween(LocalDateTime from, LocalDateTime to) {
+        return from == null ? 0 : Math.max(0, Duration.between(from, to).toMillis());
+    }
+
+    private static double toMinutes(long millis) {
+        return millis / (double) Duration.ofMinutes(1).toMillis();
+    }
+}
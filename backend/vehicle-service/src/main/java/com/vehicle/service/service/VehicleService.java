@@ -1,16 +1,40 @@
 package com.vehicle.service.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vehicle.common.exception.InvalidPatchException;
+import com.vehicle.common.persistence.FieldProjectionRepository;
+import com.vehicle.common.persistence.VersionedEntities;
+import com.vehicle.service.cache.VehicleVinCache;
+import com.vehicle.service.dto.VehicleLifecycle;
+import com.vehicle.service.dto.VehicleSearchQuery;
+import com.vehicle.service.dto.VehicleSearchResult;
+import com.vehicle.service.dto.VehicleStatusAt;
 import com.vehicle.service.kafka.VehicleEventProducer;
 import com.vehicle.service.model.Vehicle;
+import com.vehicle.service.model.VehicleLifecycleEvent;
 import com.vehicle.service.model.VehicleStatus;
 import com.vehicle.service.repository.VehicleRepository;
+import com.vehicle.service.search.VehicleSearchIndex;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -18,25 +42,88 @@ import java.util.Optional;
 public class VehicleService {
     private final VehicleRepository vehicleRepository;
     private final VehicleEventProducer eventProducer;
+    private final VehicleVinCache vinCache;
+    private final VehicleSearchIndex searchIndex;
+    private final VehicleLifecycleLog lifecycleLog;
+    private final FieldProjectionRepository fieldProjections;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private static final String ENTITY_NAME = "Vehicle";
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int STREAM_DETACH_INTERVAL = 500;
+    // Fields a full update replaces; a merge patch may set any subset of them
+    private static final Set<String> UPDATABLE_FIELDS = Set.of("model", "make", "year", "color", "type",
+            "engineType", "transmission", "price", "status", "manufacturingDate");
 
     @Transactional
     public Vehicle createVehicle(Vehicle vehicle) {
         log.info("Creating vehicle with VIN: {}", vehicle.getVin());
         Vehicle savedVehicle = vehicleRepository.save(vehicle);
+        lifecycleLog.recordCreated(List.of(savedVehicle));
+        vinCache.invalidateAfterCommit(savedVehicle.getVin());
+        searchIndex.indexAfterCommit(savedVehicle);
         eventProducer.sendVehicleCreatedEvent(savedVehicle);
         return savedVehicle;
     }
 
+    @Transactional
+    public List<Vehicle> createVehicles(List<Vehicle> vehicles) {
+        log.info("Bulk creating {} vehicles", vehicles.size());
+        List<Vehicle> savedVehicles = vehicleRepository.saveAll(vehicles);
+        lifecycleLog.recordCreated(savedVehicles);
+        vinCache.invalidateAfterCommit(savedVehicles.stream().map(Vehicle::getVin).toList());
+        searchIndex.indexAfterCommit(savedVehicles);
+        eventProducer.sendVehicleCreatedEvents(savedVehicles);
+        return savedVehicles;
+    }
+
     public List<Vehicle> getAllVehicles() {
         return vehicleRepository.findAll();
     }
 
+    public List<Map<String, Object>> getVehicleFields(List<String> fields, Map<String, ?> filter) {
+        return fieldProjections.findFields(Vehicle.class, fields, filter);
+    }
+
+    public VehicleSearchResult searchVehicles(VehicleSearchQuery query) {
+        return searchIndex.search(query);
+    }
+
+    public List<Vehicle> getVehiclesAfter(Long afterId, int limit) {
+        return vehicleRepository.findByIdGreaterThanOrderByIdAsc(
+                afterId == null ? 0L : afterId, PageRequest.of(0, pageSize(limit)));
+    }
+
+    public List<Map<String, Object>> getVehicleFieldsAfter(List<String> fields, Long afterId, int limit) {
+        return fieldProjections.findFieldsAfter(Vehicle.class, fields, Map.of(), afterId == null ? 0L : afterId,
+                pageSize(limit));
+    }
+
+    @Transactional(readOnly = true)
+    public void streamAllVehicles(Consumer<Vehicle> consumer) {
+        try (Stream<Vehicle> vehicles = vehicleRepository.streamAllByOrderByIdAsc()) {
+            Iterator<Vehicle> iterator = vehicles.iterator();
+            int count = 0;
+            while (iterator.hasNext()) {
+                consumer.accept(iterator.next());
+                // Drop already written entities so the persistence context stays small
+                if (++count % STREAM_DETACH_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+
     public Optional<Vehicle> getVehicleById(Long id) {
         return vehicleRepository.findById(id);
     }
 
     public Optional<Vehicle> getVehicleByVin(String vin) {
-        return vehicleRepository.findByVin(vin);
+        return vinCache.get(vin, vehicleRepository::findByVin);
     }
 
     public List<Vehicle> getVehiclesByMake(String make) {
@@ -52,10 +139,9 @@ public class VehicleService {
     }
 
     @Transactional
-    public Vehicle updateVehicle(Long id, Vehicle vehicleDetails) {
+    public Vehicle updateVehicle(Long id, Vehicle vehicleDetails, Long expectedVersion) {
         log.info("Updating vehicle with ID: {}", id);
-        Vehicle vehicle = vehicleRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Vehicle not found with id: " + id));
+        Vehicle vehicle = findVehicle(id, expectedVersion);
 
         vehicle.setModel(vehicleDetails.getModel());
         vehicle.setMake(vehicleDetails.getMake());
@@ -65,31 +151,97 @@ public class VehicleService {
         vehicle.setEngineType(vehicleDetails.getEngineType());
         vehicle.setTransmission(vehicleDetails.getTransmission());
         vehicle.setPrice(vehicleDetails.getPrice());
+        VehicleStatus previousStatus = vehicle.getStatus();
         vehicle.setStatus(vehicleDetails.getStatus());
         vehicle.setManufacturingDate(vehicleDetails.getManufacturingDate());
 
-        Vehicle updatedVehicle = vehicleRepository.save(vehicle);
+        Vehicle updatedVehicle = flush(vehicle);
+        lifecycleLog.recordStatus(updatedVehicle, previousStatus);
+        vinCache.invalidateAfterCommit(updatedVehicle.getVin());
+        searchIndex.indexAfterCommit(updatedVehicle);
         eventProducer.sendVehicleUpdatedEvent(updatedVehicle);
         return updatedVehicle;
     }
 
+    // JSON Merge Patch (RFC 7386): members present in the patch replace the stored values and null clears them,
+    // everything else is left as it is
+    @Transactional
+    public Vehicle patchVehicle(Long id, JsonNode patch, Long expectedVersion) {
+        log.info("Patching vehicle with ID: {}", id);
+        Vehicle vehicle = findVehicle(id, expectedVersion);
+        VehicleStatus previousStatus = vehicle.getStatus();
+        applyPatch(vehicle, patch);
+
+        Vehicle updatedVehicle = flush(vehicle);
+        lifecycleLog.recordStatus(updatedVehicle, previousStatus);
+        vinCache.invalidateAfterCommit(updatedVehicle.getVin());
+        searchIndex.indexAfterCommit(updatedVehicle);
+        if (patch.size() == 1 && patch.has("status")) {
+            eventProducer.sendVehicleStatusChangedEvent(updatedVehicle);
+        } else {
+            eventProducer.sendVehicleUpdatedEvent(updatedVehicle);
+        }
+        return updatedVehicle;
+    }
+
     @Transactional
     public void deleteVehicle(Long id) {
         log.info("Deleting vehicle with ID: {}", id);
         Vehicle vehicle = vehicleRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Vehicle not found with id: " + id));
         vehicleRepository.delete(vehicle);
+        lifecycleLog.recordDeleted(vehicle.getVin());
+        vinCache.invalidateAfterCommit(vehicle.getVin());
+        searchIndex.removeAfterCommit(vehicle.getVin());
         eventProducer.sendVehicleDeletedEvent(vehicle);
     }
 
     @Transactional
-    public Vehicle updateVehicleStatus(Long id, VehicleStatus status) {
+    public Vehicle updateVehicleStatus(Long id, VehicleStatus status, Long expectedVersion) {
         log.info("Updating vehicle status to {} for ID: {}", status, id);
-        Vehicle vehicle = vehicleRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Vehicle not found with id: " + id));
+        Vehicle vehicle = findVehicle(id, expectedVersion);
+        VehicleStatus previousStatus = vehicle.getStatus();
         vehicle.setStatus(status);
-        Vehicle updatedVehicle = vehicleRepository.save(vehicle);
+        Vehicle updatedVehicle = flush(vehicle);
+        lifecycleLog.recordStatus(updatedVehicle, previousStatus);
+        vinCache.invalidateAfterCommit(updatedVehicle.getVin());
+        searchIndex.indexAfterCommit(updatedVehicle);
         eventProducer.sendVehicleStatusChangedEvent(updatedVehicle);
         return updatedVehicle;
     }
+
+    public Optional<VehicleLifecycle> getLifecycle(String vin) {
+        return lifecycleLog.getLifecycle(vin);
+    }
+
+    public Optional<VehicleStatusAt> getStatusAt(String vin, LocalDateTime at) {
+        return lifecycleLog.getStatusAt(vin, at);
+    }
+
+    public List<VehicleLifecycleEvent> getLifecycleEvents(String vin) {
+        return lifecycleLog.getEvents(vin);
+    }
+
+    private Vehicle findVehicle(Long id, Long expectedVersion) {
+        return VersionedEntities.find(vehicleRepository, ENTITY_NAME, id, expectedVersion);
+    }
+
+    private void applyPatch(Vehicle vehicle, JsonNode patch) {
+        VersionedEntities.applyPatch(objectMapper, vehicle, patch, UPDATABLE_FIELDS);
+        Set<ConstraintViolation<Vehicle>> violations = validator.validate(vehicle);
+        if (!violations.isEmpty()) {
+            throw new InvalidPatchException(violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+    }
+
+    private Vehicle flush(Vehicle vehicle) {
+        return VersionedEntities.flush(vehicleRepository, ENTITY_NAME, vehicle);
+    }
+
+    private static int pageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
 }
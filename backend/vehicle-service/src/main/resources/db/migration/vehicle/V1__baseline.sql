@@ -0,0 +1,33 @@
+create sequence vehicle_seq start with 1 increment by 50;
+create sequence event_outbox_seq start with 1 increment by 50;
+
+create table vehicles (
+    id                 bigint       not null primary key,
+    vin                varchar(255) not null unique,
+    model              varchar(255) not null,
+    make               varchar(255) not null,
+    year               integer      not null,
+    color              varchar(255) not null,
+    type               varchar(255) not null,
+    engine_type        varchar(255),
+    transmission       varchar(255),
+    price              double precision,
+    status             varchar(32),
+    manufacturing_date timestamp(6),
+    created_at         timestamp(6),
+    updated_at         timestamp(6)
+);
+
+create index idx_vehicles_make_model on vehicles (make, model);
+create index idx_vehicles_model on vehicles (model);
+create index idx_vehicles_year on vehicles (year);
+create index idx_vehicles_status on vehicles (status);
+
+create table event_outbox (
+    id          bigint       not null primary key,
+    topic       varchar(255),
+    message_key varchar(255),
+    event_type  varchar(255),
+    payload     clob,
+    created_at  timestamp(6)
+);
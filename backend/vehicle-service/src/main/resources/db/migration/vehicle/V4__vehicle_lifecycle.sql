@@ -0,0 +1,36 @@
+create sequence vehicle_lifecycle_event_seq start with 1 increment by 50;
+
+create table vehicle_lifecycle_events (
+    id          bigint       not null primary key,
+    vin         varchar(255),
+    seq         integer      not null,
+    status      varchar(32),
+    occurred_at timestamp(6),
+    constraint uk_vehicle_lifecycle_events_vin_seq unique (vin, seq)
+);
+
+create index idx_vehicle_lifecycle_events_vin_occurred_at on vehicle_lifecycle_events (vin, occurred_at);
+
+create table vehicle_lifecycle_snapshots (
+    vin      varchar(255) not null primary key,
+    status   varchar(32),
+    since    timestamp(6),
+    last_seq integer      not null
+);
+
+create table vehicle_lifecycle_dwell (
+    vin          varchar(255) not null,
+    status       varchar(32)  not null,
+    dwell_millis bigint,
+    primary key (vin, status)
+);
+
+-- Existing vehicles start their history at their current status as of their last change
+insert into vehicle_lifecycle_events (id, vin, seq, status, occurred_at)
+select next value for vehicle_lifecycle_event_seq, vin, 1, status, coalesce(updated_at, created_at, current_timestamp)
+from vehicles
+where status is not null;
+
+insert into vehicle_lifecycle_snapshots (vin, status, since, last_seq)
+select vin, status, occurred_at, 1
+from vehicle_lifecycle_events;
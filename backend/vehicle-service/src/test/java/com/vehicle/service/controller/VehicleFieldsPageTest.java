@@ -0,0 +1,70 @@
+package com.vehicle.service.controller;
+
+import com.vehicle.service.model.Vehicle;
+import com.vehicle.service.service.VehicleService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "eureka.client.enabled=false",
+        "spring.kafka.admin.auto-create=false",
+        "spring.kafka.listener.auto-startup=false",
+        "outbox.relay.enabled=false",
+        "vehicle.cache.vin.kafka-invalidation=false"})
+@AutoConfigureMockMvc
+class VehicleFieldsPageTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private VehicleService vehicleService;
+
+    @Test
+    void keysetPageReturnsOnlyTheRequestedFields() throws Exception {
+        // Other tests share the database, so the pages start just before this test's vehicles
+        List<Long> ids = IntStream.rangeClosed(1, 3)
+                .mapToObj(n -> vehicleService.createVehicle(vehicle("FIELDSPAGE000000" + n)).getId())
+                .toList();
+
+        MvcResult first = mockMvc.perform(get("/api/vehicles").param("fields", "vin,make").param("limit", "2")
+                        .param("after", String.valueOf(ids.get(0) - 1)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].*", hasSize(3)))
+                .andExpect(jsonPath("$[0].vin").value("FIELDSPAGE0000001"))
+                .andExpect(jsonPath("$[0].model").doesNotExist())
+                .andExpect(header().string("X-Next-Cursor", String.valueOf(ids.get(1))))
+                .andReturn();
+
+        mockMvc.perform(get("/api/vehicles").param("fields", "vin,make").param("limit", "2")
+                        .param("after", first.getResponse().getHeader("X-Next-Cursor")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].vin").value("FIELDSPAGE0000003"))
+                .andExpect(jsonPath("$[0].model").doesNotExist());
+    }
+
+    private static Vehicle vehicle(String vin) {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setVin(vin);
+        vehicle.setMake("Test");
+        vehicle.setModel("Fields");
+        vehicle.setYear(2024);
+        vehicle.setColor("Blue");
+        vehicle.setType("SUV");
+        return vehicle;
+    }
+}
@@ -0,0 +1,65 @@
+package com.vehicle.service.repository;
+
+import com.vehicle.common.persistence.QueryPlanGuard;
+import com.vehicle.service.model.VehicleStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+// Runs every finder against the Flyway schema filled with synthetic rows, so dropping an index from a migration fails
+// the build. Key columns have fixed cardinalities: 1000 makes with 10 models each and 30 years.
+@SpringBootTest(properties = {
+        "eureka.client.enabled=false",
+        "spring.kafka.admin.auto-create=false",
+        "spring.kafka.listener.auto-startup=false",
+        "spring.datasource.url=jdbc:h2:mem:vehicle-plan;DB_CLOSE_DELAY=-1;NON_KEYWORDS=YEAR",
+        QueryPlanGuard.STATEMENT_INSPECTOR})
+@ActiveProfiles("production")
+class RepositoryQueryPlanTest {
+    private static final int ROWS = 10_000;
+    private static final int MIN_ROWS = 1_000;
+    private static final int TRANSITIONS_PER_VIN = 10;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private VehicleRepository vehicles;
+
+    @Autowired
+    private VehicleLifecycleEventRepository lifecycleEvents;
+
+    @Test
+    void findersUseIndexes() {
+        jdbc.update("""
+                insert into vehicles (id, vin, make, model, year, color, type, engine_type, transmission, price,
+                                      status, manufacturing_date, created_at, updated_at, version)
+                select x, 'SYN' || lpad(cast(x as varchar), 14, '0'), 'MAKE-' || mod(x, 1000),
+                       'MODEL-' || mod(x, 10000), 1995 + mod(x, 30), 'Silver', 'SUV', 'Hybrid', 'Automatic',
+                       30000 + mod(x, 20000), 'SHIPPED', current_timestamp, current_timestamp, current_timestamp, 0
+                from system_range(1, ?)
+                """, ROWS);
+        jdbc.update("""
+                insert into vehicle_lifecycle_events (id, vin, seq, status, occurred_at)
+                select x, 'SYN' || lpad(cast((x - 1) / ? + 1 as varchar), 14, '0'), mod(x - 1, ?) + 1,
+                       'IN_PRODUCTION', dateadd('HOUR', mod(x - 1, ?) - ?, current_timestamp)
+                from system_range(1, ?)
+                """, TRANSITIONS_PER_VIN, TRANSITIONS_PER_VIN, TRANSITIONS_PER_VIN, TRANSITIONS_PER_VIN, ROWS);
+
+        QueryPlanGuard guard = new QueryPlanGuard(jdbc, MIN_ROWS);
+        guard.check("VehicleRepository.findByVin", () -> vehicles.findByVin("SYN00000000000001"),
+                "SYN00000000000001");
+        guard.check("VehicleRepository.findByMake", () -> vehicles.findByMake("MAKE-1"), "MAKE-1");
+        guard.check("VehicleRepository.findByModel", () -> vehicles.findByModel("MODEL-1"), "MODEL-1");
+        guard.check("VehicleRepository.findByStatus", () -> vehicles.findByStatus(VehicleStatus.SHIPPED),
+                VehicleStatus.SHIPPED);
+        guard.check("VehicleRepository.findByYear", () -> vehicles.findByYear(2001), 2001);
+        guard.check("VehicleRepository.findByMakeAndModel", () -> vehicles.findByMakeAndModel("MAKE-1", "MODEL-1"),
+                "MAKE-1", "MODEL-1");
+        guard.check("VehicleLifecycleEventRepository.findByVinOrderBySeqAsc",
+                () -> lifecycleEvents.findByVinOrderBySeqAsc("SYN00000000000001"), "SYN00000000000001");
+        guard.assertNoTableScans();
+    }
+}
@@ -0,0 +1,69 @@
+package com.vehicle.service.service;
+
+import com.vehicle.service.model.Vehicle;
+import com.vehicle.service.model.VehicleLifecycleEvent;
+import com.vehicle.service.model.VehicleStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "eureka.client.enabled=false",
+        "spring.kafka.admin.auto-create=false",
+        "spring.kafka.listener.auto-startup=false",
+        "outbox.relay.enabled=false",
+        "vehicle.cache.vin.kafka-invalidation=false"})
+class VehicleLifecycleLogTest {
+    @Autowired
+    private VehicleService vehicleService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void deletingAVehicleRemovesItsHistory() {
+        Vehicle vehicle = vehicleService.createVehicle(vehicle("LIFECYCLE0000001"));
+        vehicleService.updateVehicleStatus(vehicle.getId(), VehicleStatus.QUALITY_CHECK, null);
+
+        vehicleService.deleteVehicle(vehicle.getId());
+
+        assertThat(vehicleService.getLifecycle("LIFECYCLE0000001")).isEmpty();
+        assertThat(vehicleService.getLifecycleEvents("LIFECYCLE0000001")).isEmpty();
+        assertRecreatedWithFreshHistory("LIFECYCLE0000001");
+    }
+
+    @Test
+    void recreatedVinDoesNotContinueALeftOverHistory() {
+        Vehicle vehicle = vehicleService.createVehicle(vehicle("LIFECYCLE0000002"));
+        vehicleService.updateVehicleStatus(vehicle.getId(), VehicleStatus.QUALITY_CHECK, null);
+        // A vehicle removed without going through deleteVehicle leaves its snapshot and events behind
+        jdbcTemplate.update("delete from vehicles where id = ?", vehicle.getId());
+
+        assertRecreatedWithFreshHistory("LIFECYCLE0000002");
+    }
+
+    private void assertRecreatedWithFreshHistory(String vin) {
+        vehicleService.createVehicle(vehicle(vin));
+
+        assertThat(vehicleService.getLifecycle(vin)).hasValueSatisfying(lifecycle -> {
+            assertThat(lifecycle.status()).isEqualTo(VehicleStatus.IN_PRODUCTION);
+            assertThat(lifecycle.transitions()).isEqualTo(1);
+            assertThat(lifecycle.dwellMinutes()).containsOnlyKeys(VehicleStatus.IN_PRODUCTION);
+        });
+        assertThat(vehicleService.getLifecycleEvents(vin)).extracting(VehicleLifecycleEvent::getSeq).containsExactly(1);
+    }
+
+    private static Vehicle vehicle(String vin) {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setVin(vin);
+        vehicle.setMake("Test");
+        vehicle.setModel("Lifecycle");
+        vehicle.setYear(2024);
+        vehicle.setColor("Blue");
+        vehicle.setType("SUV");
+        return vehicle;
+    }
+}